@@ -0,0 +1,36 @@
+package com.creactiviti.spring.boot.starter.acme.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all the benchmarks with 1, 4 and 16 threads, reporting allocation 
+ * rates along with throughput. Any arguments are passed on to the regular 
+ * JMH command line instead.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class BenchmarkRunner {
+  
+  private static final int[] THREADS = {1, 4, 16};
+
+  public static void main (String[] aArgs) throws Exception {
+    if(aArgs.length > 0) {
+      Main.main(aArgs);
+      return;
+    }
+    for(int threads : THREADS) {
+      Options options = new OptionsBuilder()
+                          .include("com.creactiviti.spring.boot.starter.acme.benchmarks.*")
+                          .threads(threads)
+                          .addProfiler(GCProfiler.class)
+                          .build();
+      new Runner(options).run();
+    }
+  }
+  
+}
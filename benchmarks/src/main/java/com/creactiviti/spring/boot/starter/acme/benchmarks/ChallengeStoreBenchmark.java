@@ -0,0 +1,118 @@
+package com.creactiviti.spring.boot.starter.acme.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.creactiviti.spring.boot.starter.acme.InMemoryChallengeStore;
+
+/**
+ * Measures the {@link InMemoryChallengeStore} as used by the challenge 
+ * endpoint: lookups of known tokens (hits), lookups of unknown tokens 
+ * (misses, e.g. scanners), lookups of expired tokens and a mix of reads 
+ * and writes.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class ChallengeStoreBenchmark {
+
+  /**
+   * The number of live tokens in the store.
+   */
+  @Param({"10", "10000"})
+  int tokens;
+  
+  private static final long FIFTEEN_MINS = TimeUnit.MINUTES.toMillis(15);
+  
+  private InMemoryChallengeStore store;
+  
+  private String[] hits;
+  
+  private String[] misses;
+  
+  @Setup
+  public void setup () {
+    store = new InMemoryChallengeStore();
+    hits = new String[tokens];
+    misses = new String[tokens];
+    for(int i=0; i<tokens; i++) {
+      hits[i] = UUID.randomUUID().toString();
+      misses[i] = UUID.randomUUID().toString();
+      store.put(hits[i], hits[i] + ".authorization");
+    }
+  }
+  
+  @Benchmark
+  public byte[] hit () {
+    return store.getEncoded(hits[ThreadLocalRandom.current().nextInt(tokens)]);
+  }
+  
+  @Benchmark
+  public byte[] miss () {
+    return store.getEncoded(misses[ThreadLocalRandom.current().nextInt(tokens)]);
+  }
+  
+  /**
+   * A lookup of a token which expired. As the lookup removes the expired 
+   * entry, each one is put back with no time to live first: compare with 
+   * {@link #refreshed()}, which does the same with a live token.
+   */
+  @Benchmark
+  public byte[] expired () {
+    String token = misses[ThreadLocalRandom.current().nextInt(tokens)];
+    store.put(token, token + ".authorization", 0);
+    return store.getEncoded(token);
+  }
+  
+  @Benchmark
+  public byte[] refreshed () {
+    String token = misses[ThreadLocalRandom.current().nextInt(tokens)];
+    store.put(token, token + ".authorization", FIFTEEN_MINS);
+    return store.getEncoded(token);
+  }
+  
+  @Benchmark
+  public String mixed (Mix aMix) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String token = hits[random.nextInt(tokens)];
+    if(random.nextDouble() < aMix.readRatio) {
+      return store.get(token);
+    }
+    store.put(token, token + ".authorization");
+    return token;
+  }
+  
+  /**
+   * Kept apart so that only the {@link #mixed(Mix)} benchmark runs once per ratio.
+   */
+  @State(Scope.Benchmark)
+  public static class Mix {
+    
+    /**
+     * The share of reads.
+     */
+    @Param({"0.5", "0.9", "0.99"})
+    double readRatio;
+    
+  }
+  
+}
@@ -0,0 +1,105 @@
+package com.creactiviti.spring.boot.starter.acme.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.creactiviti.spring.boot.starter.acme.ExpiringMap;
+
+/**
+ * Measures the {@link ExpiringMap} operations with a backlog of expired 
+ * entries which have not been swept yet.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class ExpiringMapBenchmark {
+
+  private static final long TEN_MINS = 10 * 60 * 1000;
+  
+  /**
+   * The number of live entries in the map.
+   */
+  @Param({"10000"})
+  int entries;
+  
+  /**
+   * The number of expired entries in the map.
+   */
+  @Param({"0", "100000"})
+  int expiredEntries;
+  
+  private ExpiringMap<String, String> map;
+  
+  private String[] keys;
+  
+  @Setup
+  public void setup () throws InterruptedException {
+    // the sweep interval is longer than a benchmark run, so 
+    // the expired entries are never swept
+    map = new ExpiringMap<>(TEN_MINS, TEN_MINS);
+    keys = new String[entries];
+    for(int i=0; i<entries; i++) {
+      keys[i] = UUID.randomUUID().toString();
+      map.put(keys[i], keys[i]);
+    }
+    for(int i=0; i<expiredEntries; i++) {
+      map.put(UUID.randomUUID().toString(), "expired", 1);
+    }
+    Thread.sleep(10);
+  }
+  
+  @Benchmark
+  public String get () {
+    return map.get(keys[ThreadLocalRandom.current().nextInt(entries)]);
+  }
+  
+  @Benchmark
+  public String put () {
+    String key = keys[ThreadLocalRandom.current().nextInt(entries)];
+    return map.put(key, key);
+  }
+  
+  @Benchmark
+  public String mixed (Mix aMix) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String key = keys[random.nextInt(entries)];
+    if(random.nextDouble() < aMix.readRatio) {
+      return map.get(key);
+    }
+    return map.put(key, key);
+  }
+  
+  /**
+   * Kept apart so that only the {@link #mixed(Mix)} benchmark runs once per ratio.
+   */
+  @State(Scope.Benchmark)
+  public static class Mix {
+    
+    /**
+     * The share of reads.
+     */
+    @Param({"0.5", "0.9", "0.99"})
+    double readRatio;
+    
+  }
+  
+}
@@ -0,0 +1,155 @@
+package com.creactiviti.spring.boot.starter.acme.benchmarks;
+
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.MapPropertySource;
+
+import com.creactiviti.spring.boot.starter.acme.AcmeAutoConfiguration;
+import com.creactiviti.spring.boot.starter.acme.CertGenerator;
+import com.creactiviti.spring.boot.starter.acme.InMemoryDnsChallengeProvider;
+import com.creactiviti.spring.boot.starter.acme.MockAcmeServer;
+
+/**
+ * Issues certificates for N domains concurrently against a
+ * {@link MockAcmeServer}, end to end through the starter's own beans: the
+ * {@link CertGenerator}, the challenge store and the challenge server which
+ * answers the mock's <code>http-01</code> validations (or the in-memory DNS
+ * provider, with <code>--acme.challenge-type=dns-01</code>). No network
+ * access is needed.
+ * <p>
+ * Runs a warm up round and then the measured rounds, and reports the
+ * throughput of each round along with the latency percentiles of each
+ * issuance phase:
+ * <pre>
+ * java -cp target/benchmarks.jar com.creactiviti.spring.boot.starter.acme.benchmarks.IssuanceLoadTest [domains] [rounds] [--acme.{property}={value} ...]
+ * </pre>
+ * e.g. <code>IssuanceLoadTest 200 5 --acme.issuance-threads=16 --acme.poll-initial-delay=100</code>.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class IssuanceLoadTest {
+
+  private static final int DEFAULT_DOMAINS = 50;
+  private static final int DEFAULT_ROUNDS = 3;
+
+  private static final double[] PERCENTILES = {50, 90, 99};
+
+  public static void main (String[] aArgs) throws Exception {
+    Security.addProvider(new BouncyCastleProvider());
+
+    List<String> positional = new ArrayList<>();
+    Map<String, Object> overrides = new LinkedHashMap<>();
+    for(String arg : aArgs) {
+      if(arg.startsWith("--") && arg.indexOf('=') > 0) {
+        overrides.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+      }
+      else {
+        positional.add(arg);
+      }
+    }
+    int domainCount = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : DEFAULT_DOMAINS;
+    int rounds = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : DEFAULT_ROUNDS;
+
+    List<String> domains = new ArrayList<>();
+    for(int i=1; i<=domainCount; i++) {
+      domains.add("host" + i + ".load-test.example");
+    }
+
+    Path work = Files.createTempDirectory("acme-load-test");
+    MockAcmeServer acme = new MockAcmeServer(0, Runtime.getRuntime().availableProcessors() * 2);
+    int challengePort = freePort();
+    acme.setHttpValidationHost("127.0.0.1");
+    acme.setHttpValidationPort(challengePort);
+    acme.start();
+
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("acme.enabled", "true");
+    properties.put("acme.endpoint", acme.getDirectory());
+    properties.put("acme.domain-names", String.join(",", domains));
+    properties.put("acme.accept-terms-of-service", "true");
+    properties.put("acme.user-key-file", work.resolve("user.key").toString());
+    properties.put("acme.artifact-directory", work.resolve("artifacts").toString());
+    properties.put("acme.rate-limits-enabled", "false");
+    properties.put("acme.renewal-enabled", "false");
+    properties.put("acme.reuse-authorizations", "false");
+    properties.put("acme.challenge-server-enabled", "true");
+    properties.put("acme.challenge-server-address", "127.0.0.1");
+    properties.put("acme.challenge-server-port", Integer.toString(challengePort));
+    properties.put("acme.dns-provider", "memory");
+    properties.putAll(overrides);
+
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("load-test", properties));
+    context.register(LoadTestConfiguration.class, AcmeAutoConfiguration.class);
+    context.refresh();
+
+    try {
+      context.getBeansOfType(InMemoryDnsChallengeProvider.class).values().forEach((dns) -> acme.setTxtResolver(dns::getValues));
+      CertGenerator generator = context.getBean(CertGenerator.class);
+      RecordingAcmeMetrics metrics = context.getBean(RecordingAcmeMetrics.class);
+
+      System.out.println("Issuing " + domainCount + " certificates per round against " + acme.getDirectory() + ", work directory " + work);
+
+      for(int round=0; round<=rounds; round++) {
+        long start = System.nanoTime();
+        generator.generate(domains);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if(round == 0) {
+          System.out.printf("warm up:  %d certificates in %.2fs%n", domainCount, seconds);
+          metrics.clear();
+        }
+        else {
+          System.out.printf("round %d:  %d certificates in %.2fs, %.2f certificates/s%n", round, domainCount, seconds, domainCount / seconds);
+        }
+      }
+
+      System.out.println();
+      System.out.printf("%-22s %8s %10s %10s %10s %10s%n", "phase", "count", "p50 (ms)", "p90 (ms)", "p99 (ms)", "max (ms)");
+      metrics.getSamples().forEach((phase, samples) -> {
+        System.out.printf("%-22s %8d", phase, samples.length);
+        for(double percentile : PERCENTILES) {
+          System.out.printf(" %10.1f", RecordingAcmeMetrics.percentile(samples, percentile, TimeUnit.MILLISECONDS));
+        }
+        System.out.printf(" %10.1f%n", RecordingAcmeMetrics.percentile(samples, 100, TimeUnit.MILLISECONDS));
+      });
+      System.out.println();
+      metrics.getCounters().forEach((name, count) -> System.out.println(name + ": " + count.sum()));
+    }
+    finally {
+      context.close();
+      acme.stop();
+    }
+  }
+
+  private static int freePort () throws Exception {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  @Configuration
+  static class LoadTestConfiguration {
+
+    @Bean
+    @Primary
+    RecordingAcmeMetrics recordingAcmeMetrics () {
+      return new RecordingAcmeMetrics();
+    }
+
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.creactiviti.spring.boot.starter.acme.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.creactiviti.spring.boot.starter.acme.AcmeMetrics;
+
+/**
+ * Keeps every recorded duration, on top of the {@link AcmeMetrics} totals,
+ * so that the latency percentiles of each issuance phase can be reported.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class RecordingAcmeMetrics extends AcmeMetrics {
+
+  private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+
+  @Override
+  public void record (String aName, long aNanos) {
+    super.record(aName, aNanos);
+    samples.computeIfAbsent(aName, (name) -> new ConcurrentLinkedQueue<>()).add(aNanos);
+  }
+
+  /**
+   * Forgets the durations recorded so far, e.g. those of the warm up.
+   */
+  public void clear () {
+    samples.clear();
+  }
+
+  /**
+   * @return the sorted durations (ns) of each phase, by phase name.
+   */
+  public Map<String, long[]> getSamples () {
+    Map<String, long[]> sorted = new TreeMap<>();
+    samples.forEach((name, durations) -> {
+      List<Long> copy = new ArrayList<>(durations);
+      Collections.sort(copy);
+      sorted.put(name, copy.stream().mapToLong(Long::longValue).toArray());
+    });
+    return sorted;
+  }
+
+  /**
+   * @return the nearest-rank percentile of the sorted durations, in the given unit.
+   */
+  public static double percentile (long[] aSorted, double aPercentile, TimeUnit aUnit) {
+    if(aSorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(aPercentile / 100 * aSorted.length);
+    long nanos = aSorted[Math.max(0, Math.min(aSorted.length, rank) - 1)];
+    return (double) nanos / aUnit.toNanos(1);
+  }
+
+}
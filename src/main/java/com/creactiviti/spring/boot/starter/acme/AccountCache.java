@@ -0,0 +1,144 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the location of the ACME account, so that subsequent runs can 
+ * bind to the account directly rather than discovering it through a failed 
+ * registration attempt.
+ * <p>
+ * The cached location is only used for the same CA endpoint and the same 
+ * user key pair it was stored with. Delete the file to force a lookup.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class AccountCache {
+
+  private static final String ENDPOINT = "endpoint";
+  private static final String KEY_FINGERPRINT = "key-fingerprint";
+  private static final String LOCATION = "location";
+  private static final String TERMS_OF_SERVICE = "terms-of-service";
+  
+  private final File file;
+  
+  private static final Logger logger = LoggerFactory.getLogger(AccountCache.class);
+  
+  public AccountCache (File aFile) {
+    file = aFile;
+  }
+  
+  /**
+   * @return the cached account for the given endpoint and key pair, 
+   * or <code>null</code> if there is none.
+   */
+  public CachedAccount load (String aEndpoint, KeyPair aUserKeyPair) {
+    if(!file.exists()) {
+      return null;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = new FileReader(file)) {
+      properties.load(reader);
+      if(!aEndpoint.equals(properties.getProperty(ENDPOINT)) || !fingerprint(aUserKeyPair).equals(properties.getProperty(KEY_FINGERPRINT))) {
+        return null;
+      }
+      String location = properties.getProperty(LOCATION);
+      if(location == null) {
+        return null;
+      }
+      String termsOfService = properties.getProperty(TERMS_OF_SERVICE);
+      return new CachedAccount(new URL(location), termsOfService != null ? URI.create(termsOfService) : null);
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to read the cached account " + file, ex);
+      return null;
+    }
+  }
+  
+  /**
+   * Caches the location of the account, along with the terms of 
+   * service it agreed to (if known).
+   */
+  public void save (String aEndpoint, KeyPair aUserKeyPair, URL aLocation, URI aTermsOfService) {
+    Properties properties = new Properties();
+    properties.setProperty(ENDPOINT, aEndpoint);
+    properties.setProperty(KEY_FINGERPRINT, fingerprint(aUserKeyPair));
+    properties.setProperty(LOCATION, aLocation.toString());
+    if(aTermsOfService != null) {
+      properties.setProperty(TERMS_OF_SERVICE, aTermsOfService.toString());
+    }
+    try {
+      Path target = file.getAbsoluteFile().toPath();
+      Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+        properties.store(writer, "ACME account");
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to cache the account " + file, ex);
+    }
+  }
+  
+  /**
+   * Forgets the cached account, e.g. once the CA no longer knows it.
+   */
+  public void clear () {
+    if(file.exists() && !file.delete()) {
+      logger.warn("Failed to delete the cached account {}", file);
+    }
+  }
+  
+  private String fingerprint (KeyPair aKeyPair) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(aKeyPair.getPublic().getEncoded());
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+    catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+  
+  public static class CachedAccount {
+    
+    private final URL location;
+    private final URI termsOfService;
+    
+    CachedAccount (URL aLocation, URI aTermsOfService) {
+      location = aLocation;
+      termsOfService = aTermsOfService;
+    }
+    
+    public URL getLocation() {
+      return location;
+    }
+    
+    /**
+     * @return the terms of service the account agreed to, or <code>null</code> 
+     * if they aren't known.
+     */
+    public URI getTermsOfService() {
+      return termsOfService;
+    }
+    
+  }
+  
+}
@@ -1,10 +1,21 @@
 package com.creactiviti.spring.boot.starter.acme;
 
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 /**
  * @author Arik Cohen
@@ -17,8 +28,100 @@ import org.springframework.context.annotation.Configuration;
 public class AcmeAutoConfiguration  {
   
   @Bean
-  InMemoryChallengeStore inMemoryChallengeStore () {
-    return new InMemoryChallengeStore();
+  @ConditionalOnProperty(name="acme.challenge-store",havingValue="memory",matchIfMissing=true)
+  InMemoryChallengeStore inMemoryChallengeStore (AcmeConfigProperties aConfig) {
+    return new InMemoryChallengeStore(aConfig.getChallengeTimeToLive());
+  }
+  
+  @Bean
+  @ConditionalOnProperty(name="acme.challenge-store",havingValue="filesystem")
+  FileSystemChallengeStore fileSystemChallengeStore (AcmeConfigProperties aConfig) {
+    return new FileSystemChallengeStore(Paths.get(aConfig.getChallengeStoreDirectory()), aConfig.getChallengeTimeToLive(), aConfig.getChallengeCacheTimeToLive());
+  }
+  
+  @Configuration
+  @ConditionalOnNotWebApplication
+  @ConditionalOnProperty(name="acme.challenge-type",havingValue="http-01",matchIfMissing=true)
+  static class ChallengeServerConfiguration {
+    
+    @Bean
+    @ConditionalOnProperty(name="acme.challenge-server-enabled",havingValue="true")
+    ChallengeServer challengeServer (ChallengeStore aChallengeStore, AcmeMetrics aMetrics, AcmeConfigProperties aConfig) {
+      InetSocketAddress address = aConfig.getChallengeServerAddress() != null 
+          ? new InetSocketAddress(aConfig.getChallengeServerAddress(), aConfig.getChallengeServerPort()) 
+          : new InetSocketAddress(aConfig.getChallengeServerPort());
+      return new ChallengeServer(aChallengeStore, aMetrics, address, aConfig.getChallengeServerThreads());
+    }
+    
+  }
+  
+  @Configuration
+  @ConditionalOnProperty(name="acme.challenge-type",havingValue="dns-01")
+  static class DnsChallengeConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean(DnsChallengeProvider.class)
+    @ConditionalOnProperty(name="acme.dns-provider",havingValue="memory")
+    InMemoryDnsChallengeProvider inMemoryDnsChallengeProvider () {
+      return new InMemoryDnsChallengeProvider();
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean(DnsChallengeProvider.class)
+    @ConditionalOnProperty(name="acme.dns-provider",havingValue="file")
+    FileDnsChallengeProvider fileDnsChallengeProvider (AcmeConfigProperties aConfig) {
+      return new FileDnsChallengeProvider(Paths.get(aConfig.getDnsRecordsFile()));
+    }
+    
+  }
+  
+  @Configuration
+  @ConditionalOnClass(name="javax.servlet.Filter")
+  @ConditionalOnWebApplication
+  static class ServletChallengeConfiguration {
+    
+    @Bean
+    @ConditionalOnProperty(name="acme.challenge-filter-enabled",havingValue="true",matchIfMissing=true)
+    FilterRegistrationBean challengeFilter (ChallengeStore aChallengeStore, AcmeMetrics aMetrics, AcmeConfigProperties aConfig) {
+      FilterRegistrationBean registration = new FilterRegistrationBean(new ChallengeFilter(aChallengeStore, aMetrics, aConfig.getChallengeMissLogInterval()));
+      registration.addUrlPatterns(ChallengeFilter.PATH_PREFIX + "*");
+      registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+      return registration;
+    }
+    
+  }
+  
+  @Configuration
+  @ConditionalOnClass(name="org.springframework.boot.actuate.endpoint.PublicMetrics")
+  static class AcmeActuatorConfiguration {
+    
+    @Bean
+    AcmePublicMetrics acmePublicMetrics (AcmeMetrics aMetrics, ChallengeStore aChallengeStore, CertificateInventory aInventory) {
+      return new AcmePublicMetrics(aMetrics, aChallengeStore, aInventory);
+    }
+    
+    @Bean
+    CertificatesEndpoint certificatesEndpoint (CertificateInventory aInventory) {
+      return new CertificatesEndpoint(aInventory);
+    }
+    
+    @Bean
+    IssuanceHealthIndicator acmeHealthIndicator (IssuanceStatus aStatus, CertificateInventory aInventory, AcmeConfigProperties aConfig) {
+      return new IssuanceHealthIndicator(aStatus, aInventory, aConfig);
+    }
+    
+  }
+  
+  @Configuration
+  @ConditionalOnClass(name="org.springframework.jdbc.core.JdbcTemplate")
+  @ConditionalOnProperty(name="acme.challenge-store",havingValue="jdbc")
+  static class JdbcChallengeStoreConfiguration {
+    
+    @Bean
+    JdbcChallengeStore jdbcChallengeStore (DataSource aDataSource, AcmeConfigProperties aConfig) {
+      return new JdbcChallengeStore(aDataSource, aConfig.getChallengeTimeToLive(), aConfig.getChallengeCacheTimeToLive());
+    }
+    
   }
   
 }
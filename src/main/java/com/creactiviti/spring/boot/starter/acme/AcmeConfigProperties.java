@@ -1,5 +1,11 @@
 package com.creactiviti.spring.boot.starter.acme;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,13 +19,61 @@ public class AcmeConfigProperties {
   
   private boolean acceptTermsOfService = false;
   private String  domainName;
+  private List<String> domainNames = new ArrayList<>();
+  private boolean sanCertificate = true;
+  private int     issuanceThreads = 4;
+  private int     pollerThreads = 2;
+  private long    pollInitialDelay = 1000;
+  private long    pollMaxDelay = 10000;
+  private long    pollTimeout = 60000;
+  private boolean hotReloadEnabled = true;
+  private boolean sniEnabled = false;
+  private boolean asyncIssuance = true;
+  private boolean reuseValidCertificate = true;
+  private boolean readinessRequiresCertificate = false;
+  private boolean renewalEnabled = true;
+  private int     renewBeforeDays = 30;
+  private long    renewalJitter = 6 * 60 * 60 * 1000;
+  private long    renewalRetryInitialDelay = 60 * 1000;
+  private long    renewalRetryMaxDelay = 6 * 60 * 60 * 1000;
+  private boolean rateLimitsEnabled = true;
+  private String  rateLimitFile;
+  private int     certificatesPerRegisteredDomain = 50;
+  private int     ordersPerAccount = 300;
+  private int     failedValidationsPerHostname = 5;
+  private boolean sanBatching = false;
+  private int     maxSanNames = 100;
   private String  userKeyFile = "user.key";
+  private String  accountFile;
+  private boolean reuseAuthorizations = true;
+  private String  authorizationFile;
   private String  domainKeyFile = "domain.key";
+  private KeyAlgorithm domainKeyAlgorithm = KeyAlgorithm.RSA_2048;
+  private int     keyPoolSize = 0;
   private String  domainCsrFile = "domain.csr";
   private String  domainChainFile = "domain-chain.crt";
   private String  keyStoreFile = "keystore.p12";
+  private String  artifactDirectory;
+  private int     artifactGenerations = 3;
   private String  keyStorePassword = "password";
   private String  endpoint = LETS_ENCRYPT_PROD_ENDPOINT;
+  private String  challengeStore = "memory";
+  private String  challengeStoreDirectory = "acme-challenges";
+  private long    challengeTimeToLive = 15 * 60 * 1000;
+  private long    challengeCacheTimeToLive = 30 * 1000;
+  private boolean challengeFilterEnabled = true;
+  private long    challengeMissLogInterval = 60 * 1000;
+  private String  challengeType = "http-01";
+  private String  dnsProvider;
+  private String  dnsRecordsFile = "acme-challenges.zone";
+  private long    dnsPropagationDelay = 0;
+  private boolean selfCheckEnabled = false;
+  private String  selfCheckBaseUrl;
+  private long    selfCheckTimeout = 5000;
+  private boolean challengeServerEnabled = false;
+  private String  challengeServerAddress;
+  private int     challengeServerPort = 80;
+  private int     challengeServerThreads = 2;
     
   public String getUserKeyFile() {
     return userKeyFile;
@@ -29,6 +83,30 @@ public class AcmeConfigProperties {
     userKeyFile = aUserKeyFile;
   }
   
+  public String getAccountFile() {
+    return accountFile;
+  }
+  
+  public void setAccountFile(String aAccountFile) {
+    accountFile = aAccountFile;
+  }
+  
+  public boolean isReuseAuthorizations() {
+    return reuseAuthorizations;
+  }
+  
+  public void setReuseAuthorizations(boolean aReuseAuthorizations) {
+    reuseAuthorizations = aReuseAuthorizations;
+  }
+  
+  public String getAuthorizationFile() {
+    return authorizationFile;
+  }
+  
+  public void setAuthorizationFile(String aAuthorizationFile) {
+    authorizationFile = aAuthorizationFile;
+  }
+  
   public String getDomainKeyFile() {
     return domainKeyFile;
   }
@@ -37,6 +115,22 @@ public class AcmeConfigProperties {
     domainKeyFile = aDomainKeyFile;
   }
   
+  public KeyAlgorithm getDomainKeyAlgorithm() {
+    return domainKeyAlgorithm;
+  }
+  
+  public void setDomainKeyAlgorithm(KeyAlgorithm aDomainKeyAlgorithm) {
+    domainKeyAlgorithm = aDomainKeyAlgorithm;
+  }
+  
+  public int getKeyPoolSize() {
+    return keyPoolSize;
+  }
+  
+  public void setKeyPoolSize(int aKeyPoolSize) {
+    keyPoolSize = aKeyPoolSize;
+  }
+  
   public String getDomainChainFile() {
     return domainChainFile;
   }
@@ -69,6 +163,230 @@ public class AcmeConfigProperties {
     domainName = aDomainName;
   }
 
+  public List<String> getDomainNames() {
+    return domainNames;
+  }
+  
+  public void setDomainNames(List<String> aDomainNames) {
+    domainNames = aDomainNames;
+  }
+  
+  /**
+   * @return all the configured domains: <code>acme.domain-name</code> 
+   * followed by <code>acme.domain-names</code>, without duplicates.
+   */
+  public List<String> getDomains () {
+    Set<String> domains = new LinkedHashSet<>();
+    if(domainName != null) {
+      domains.add(domainName);
+    }
+    domains.addAll(domainNames);
+    return new ArrayList<>(domains);
+  }
+  
+  /**
+   * Resolves a configured file name. When a directory is specified the file 
+   * is placed in that directory, next to where the file would otherwise go.
+   * <p>
+   * When <code>acme.artifact-directory</code> is set, the file is resolved 
+   * through the <code>current</code> generation of the {@link ArtifactStore}. 
+   */
+  public File resolve (String aDirectory, String aFileName) {
+    if(artifactDirectory != null) {
+      File base = aDirectory != null ? new File(artifactDirectory, aDirectory) : new File(artifactDirectory);
+      return new File(new File(base, ArtifactStore.CURRENT), new File(aFileName).getName());
+    }
+    if(aDirectory == null) {
+      return new File(aFileName);
+    }
+    File file = new File(aFileName).getAbsoluteFile();
+    return new File(new File(file.getParentFile(), aDirectory), file.getName());
+  }
+  
+  public boolean isSanCertificate() {
+    return sanCertificate;
+  }
+  
+  public void setSanCertificate(boolean aSanCertificate) {
+    sanCertificate = aSanCertificate;
+  }
+  
+  public int getIssuanceThreads() {
+    return issuanceThreads;
+  }
+  
+  public void setIssuanceThreads(int aIssuanceThreads) {
+    issuanceThreads = aIssuanceThreads;
+  }
+
+  public int getPollerThreads() {
+    return pollerThreads;
+  }
+  
+  public void setPollerThreads(int aPollerThreads) {
+    pollerThreads = aPollerThreads;
+  }
+  
+  public long getPollInitialDelay() {
+    return pollInitialDelay;
+  }
+  
+  public void setPollInitialDelay(long aPollInitialDelay) {
+    pollInitialDelay = aPollInitialDelay;
+  }
+  
+  public long getPollMaxDelay() {
+    return pollMaxDelay;
+  }
+  
+  public void setPollMaxDelay(long aPollMaxDelay) {
+    pollMaxDelay = aPollMaxDelay;
+  }
+  
+  public long getPollTimeout() {
+    return pollTimeout;
+  }
+  
+  public void setPollTimeout(long aPollTimeout) {
+    pollTimeout = aPollTimeout;
+  }
+
+  public boolean isHotReloadEnabled() {
+    return hotReloadEnabled;
+  }
+  
+  public void setHotReloadEnabled(boolean aHotReloadEnabled) {
+    hotReloadEnabled = aHotReloadEnabled;
+  }
+  
+  public boolean isSniEnabled() {
+    return sniEnabled;
+  }
+  
+  public void setSniEnabled(boolean aSniEnabled) {
+    sniEnabled = aSniEnabled;
+  }
+  
+  public boolean isAsyncIssuance() {
+    return asyncIssuance;
+  }
+  
+  public void setAsyncIssuance(boolean aAsyncIssuance) {
+    asyncIssuance = aAsyncIssuance;
+  }
+  
+  public boolean isReuseValidCertificate() {
+    return reuseValidCertificate;
+  }
+  
+  public void setReuseValidCertificate(boolean aReuseValidCertificate) {
+    reuseValidCertificate = aReuseValidCertificate;
+  }
+  
+  public boolean isReadinessRequiresCertificate() {
+    return readinessRequiresCertificate;
+  }
+  
+  public void setReadinessRequiresCertificate(boolean aReadinessRequiresCertificate) {
+    readinessRequiresCertificate = aReadinessRequiresCertificate;
+  }
+
+  public boolean isRenewalEnabled() {
+    return renewalEnabled;
+  }
+  
+  public void setRenewalEnabled(boolean aRenewalEnabled) {
+    renewalEnabled = aRenewalEnabled;
+  }
+  
+  public int getRenewBeforeDays() {
+    return renewBeforeDays;
+  }
+  
+  public void setRenewBeforeDays(int aRenewBeforeDays) {
+    renewBeforeDays = aRenewBeforeDays;
+  }
+  
+  public long getRenewalJitter() {
+    return renewalJitter;
+  }
+  
+  public void setRenewalJitter(long aRenewalJitter) {
+    renewalJitter = aRenewalJitter;
+  }
+  
+  public long getRenewalRetryInitialDelay() {
+    return renewalRetryInitialDelay;
+  }
+  
+  public void setRenewalRetryInitialDelay(long aRenewalRetryInitialDelay) {
+    renewalRetryInitialDelay = aRenewalRetryInitialDelay;
+  }
+  
+  public long getRenewalRetryMaxDelay() {
+    return renewalRetryMaxDelay;
+  }
+  
+  public void setRenewalRetryMaxDelay(long aRenewalRetryMaxDelay) {
+    renewalRetryMaxDelay = aRenewalRetryMaxDelay;
+  }
+  
+  public boolean isRateLimitsEnabled() {
+    return rateLimitsEnabled;
+  }
+  
+  public void setRateLimitsEnabled(boolean aRateLimitsEnabled) {
+    rateLimitsEnabled = aRateLimitsEnabled;
+  }
+  
+  public String getRateLimitFile() {
+    return rateLimitFile;
+  }
+  
+  public void setRateLimitFile(String aRateLimitFile) {
+    rateLimitFile = aRateLimitFile;
+  }
+  
+  public int getCertificatesPerRegisteredDomain() {
+    return certificatesPerRegisteredDomain;
+  }
+  
+  public void setCertificatesPerRegisteredDomain(int aCertificatesPerRegisteredDomain) {
+    certificatesPerRegisteredDomain = aCertificatesPerRegisteredDomain;
+  }
+  
+  public int getOrdersPerAccount() {
+    return ordersPerAccount;
+  }
+  
+  public void setOrdersPerAccount(int aOrdersPerAccount) {
+    ordersPerAccount = aOrdersPerAccount;
+  }
+  
+  public int getFailedValidationsPerHostname() {
+    return failedValidationsPerHostname;
+  }
+  
+  public void setFailedValidationsPerHostname(int aFailedValidationsPerHostname) {
+    failedValidationsPerHostname = aFailedValidationsPerHostname;
+  }
+  
+  public boolean isSanBatching() {
+    return sanBatching;
+  }
+  
+  public void setSanBatching(boolean aSanBatching) {
+    sanBatching = aSanBatching;
+  }
+  
+  public int getMaxSanNames() {
+    return maxSanNames;
+  }
+  
+  public void setMaxSanNames(int aMaxSanNames) {
+    maxSanNames = aMaxSanNames;
+  }
+
   public String getKeyStoreFile() {
     return keyStoreFile;
   }
@@ -77,6 +395,22 @@ public class AcmeConfigProperties {
     keyStoreFile = aKeyStoreFile;
   }
   
+  public String getArtifactDirectory() {
+    return artifactDirectory;
+  }
+  
+  public void setArtifactDirectory(String aArtifactDirectory) {
+    artifactDirectory = aArtifactDirectory;
+  }
+  
+  public int getArtifactGenerations() {
+    return artifactGenerations;
+  }
+  
+  public void setArtifactGenerations(int aArtifactGenerations) {
+    artifactGenerations = aArtifactGenerations;
+  }
+  
   public String getKeyStorePassword() {
     return keyStorePassword;
   }
@@ -93,4 +427,140 @@ public class AcmeConfigProperties {
     this.endpoint = endpoint;
   }
   
+  public String getChallengeStore() {
+    return challengeStore;
+  }
+  
+  public void setChallengeStore(String aChallengeStore) {
+    challengeStore = aChallengeStore;
+  }
+  
+  public String getChallengeStoreDirectory() {
+    return challengeStoreDirectory;
+  }
+  
+  public void setChallengeStoreDirectory(String aChallengeStoreDirectory) {
+    challengeStoreDirectory = aChallengeStoreDirectory;
+  }
+  
+  public long getChallengeTimeToLive() {
+    return challengeTimeToLive;
+  }
+  
+  public void setChallengeTimeToLive(long aChallengeTimeToLive) {
+    challengeTimeToLive = aChallengeTimeToLive;
+  }
+  
+  public long getChallengeCacheTimeToLive() {
+    return challengeCacheTimeToLive;
+  }
+  
+  public void setChallengeCacheTimeToLive(long aChallengeCacheTimeToLive) {
+    challengeCacheTimeToLive = aChallengeCacheTimeToLive;
+  }
+  
+  public boolean isChallengeFilterEnabled() {
+    return challengeFilterEnabled;
+  }
+  
+  public void setChallengeFilterEnabled(boolean aChallengeFilterEnabled) {
+    challengeFilterEnabled = aChallengeFilterEnabled;
+  }
+  
+  public long getChallengeMissLogInterval() {
+    return challengeMissLogInterval;
+  }
+  
+  public void setChallengeMissLogInterval(long aChallengeMissLogInterval) {
+    challengeMissLogInterval = aChallengeMissLogInterval;
+  }
+  
+  public String getChallengeType() {
+    return challengeType;
+  }
+  
+  public void setChallengeType(String aChallengeType) {
+    challengeType = aChallengeType;
+  }
+  
+  public String getDnsProvider() {
+    return dnsProvider;
+  }
+  
+  public void setDnsProvider(String aDnsProvider) {
+    dnsProvider = aDnsProvider;
+  }
+  
+  public String getDnsRecordsFile() {
+    return dnsRecordsFile;
+  }
+  
+  public void setDnsRecordsFile(String aDnsRecordsFile) {
+    dnsRecordsFile = aDnsRecordsFile;
+  }
+  
+  public long getDnsPropagationDelay() {
+    return dnsPropagationDelay;
+  }
+  
+  public void setDnsPropagationDelay(long aDnsPropagationDelay) {
+    dnsPropagationDelay = aDnsPropagationDelay;
+  }
+  
+  public boolean isSelfCheckEnabled() {
+    return selfCheckEnabled;
+  }
+  
+  public void setSelfCheckEnabled(boolean aSelfCheckEnabled) {
+    selfCheckEnabled = aSelfCheckEnabled;
+  }
+  
+  public String getSelfCheckBaseUrl() {
+    return selfCheckBaseUrl;
+  }
+  
+  public void setSelfCheckBaseUrl(String aSelfCheckBaseUrl) {
+    selfCheckBaseUrl = aSelfCheckBaseUrl;
+  }
+  
+  public long getSelfCheckTimeout() {
+    return selfCheckTimeout;
+  }
+  
+  public void setSelfCheckTimeout(long aSelfCheckTimeout) {
+    selfCheckTimeout = aSelfCheckTimeout;
+  }
+  
+  public boolean isChallengeServerEnabled() {
+    return challengeServerEnabled;
+  }
+  
+  public void setChallengeServerEnabled(boolean aChallengeServerEnabled) {
+    challengeServerEnabled = aChallengeServerEnabled;
+  }
+  
+  public String getChallengeServerAddress() {
+    return challengeServerAddress;
+  }
+  
+  public void setChallengeServerAddress(String aChallengeServerAddress) {
+    challengeServerAddress = aChallengeServerAddress;
+  }
+  
+  public int getChallengeServerPort() {
+    return challengeServerPort;
+  }
+  
+  public void setChallengeServerPort(int aChallengeServerPort) {
+    challengeServerPort = aChallengeServerPort;
+  }
+  
+  public int getChallengeServerThreads() {
+    return challengeServerThreads;
+  }
+  
+  public void setChallengeServerThreads(int aChallengeServerThreads) {
+    challengeServerThreads = aChallengeServerThreads;
+  }
+  
 }
@@ -1,43 +1,153 @@
 package com.creactiviti.spring.boot.starter.acme;
 
 import java.security.Security;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 /**
+ * Issues the certificates once the application has started, through the
+ * {@link IssuanceQueue}. Unless <code>acme.async-issuance</code> is turned
+ * off, the runner doesn't wait for the issuance so that it doesn't hold up
+ * the startup; its progress is tracked by the {@link IssuanceStatus}. A 
+ * certificate which fails to be issued in the background is retried by the 
+ * {@link RenewalScheduler} -- unless renewals are off -- and the status 
+ * turns from failed to succeeded once every retried certificate is issued. 
+ * <p>
+ * Domains which already have a certificate on disk that covers them and is
+ * valid for more than <code>acme.renew-before-days</code> are skipped, their
+ * renewal is left to the {@link RenewalScheduler}.
+ *
  * @author Arik Cohen
  * @since Feb 07, 2018
  */
 @Component
 public class AcmeEncryptRunner implements CommandLineRunner {
-  
-  private final CertGenerator generator;
-  
+
+  private final IssuanceQueue queue;
+
   private final AcmeConfigProperties config;
-   
+
+  private final IssuanceStatus status;
+
+  private final CertificateInventory inventory;
+
+  private final ObjectProvider<RenewalScheduler> renewals;
+
   private final Logger logger = LoggerFactory.getLogger(getClass());
-  
-  public AcmeEncryptRunner(CertGenerator aCertGenerator, AcmeConfigProperties aConfig) {
+
+  public AcmeEncryptRunner(IssuanceQueue aQueue, AcmeConfigProperties aConfig, IssuanceStatus aStatus, CertificateInventory aInventory, ObjectProvider<RenewalScheduler> aRenewals) {
     config = aConfig;
-    generator = aCertGenerator;
+    queue = aQueue;
+    status = aStatus;
+    inventory = aInventory;
+    renewals = aRenewals;
   }
-  
+
   @Override
   public void run (String... args) throws Exception {
-    logger.info("Generating a LetsEncrypt certificate...");
-    
     Security.addProvider(new BouncyCastleProvider());
-    
-    String domainName = config.getDomainName();
-    
-    Assert.notNull(domainName,"missing required property: acme.domain-name");
-    
-    generator.generate(domainName);
+
+    List<String> domainNames = config.getDomains();
+
+    Assert.notEmpty(domainNames,"missing required property: acme.domain-name or acme.domain-names");
+    CertGenerator.checkNoWildcards(domainNames);
+
+    List<String> pendingDomainNames = config.isReuseValidCertificate() ? pending(domainNames) : domainNames;
+
+    if(pendingDomainNames.isEmpty()) {
+      logger.info("The certificates of {} are valid for more than {} days, skipping issuance", domainNames, config.getRenewBeforeDays());
+      status.skip(domainNames);
+      return;
+    }
+
+    CompletableFuture<Void> issuance = submit(pendingDomainNames);
+
+    if(!config.isAsyncIssuance()) {
+      try {
+        issuance.get();
+      }
+      catch (ExecutionException ex) {
+        throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+      }
+    }
+  }
+
+  private CompletableFuture<Void> submit (List<String> aDomainNames) {
+    logger.info("Generating a LetsEncrypt certificate...");
+    status.start(aDomainNames);
+    List<List<String>> certificates = config.isSanCertificate() ? Collections.singletonList(aDomainNames) : aDomainNames.stream().map(Collections::singletonList).collect(Collectors.toList());
+    // when not waited for, a failure no longer aborts the startup
+    RenewalScheduler scheduler = config.isAsyncIssuance() ? renewals.getIfAvailable() : null;
+    List<CompletableFuture<Void>> issuances = new ArrayList<>();
+    List<CompletableFuture<Void>> recoveries = new ArrayList<>();
+    for(List<String> domains : certificates) {
+      Instant notAfter = notAfter(domains.get(0));
+      CompletableFuture<Void> issuance = queue.submit(domains, notAfter);
+      issuances.add(issuance);
+      if(scheduler != null) {
+        recoveries.add(issuance.handle((nothing, error) -> error == null ? issuance : scheduler.retry(domains, notAfter, error)).thenCompose(Function.identity()));
+      }
+    }
+    if(scheduler != null) {
+      CompletableFuture.allOf(recoveries.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+        if(status.getState() == IssuanceStatus.State.FAILED) {
+          logger.info("Generated the LetsEncrypt certificates for {} on retry", aDomainNames);
+          status.succeed();
+        }
+      });
+    }
+    return CompletableFuture.allOf(issuances.toArray(new CompletableFuture<?>[0])).whenComplete((nothing, error) -> {
+      if(error == null) {
+        status.succeed();
+      }
+      else {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        logger.error("Failed to generate a LetsEncrypt certificate for " + aDomainNames, cause);
+        status.fail(cause);
+      }
+    });
+  }
+
+  private Instant notAfter (String aDomain) {
+    CertificateInfo certificate = inventory.get(aDomain);
+    return certificate != null ? certificate.getNotAfter().toInstant() : null;
+  }
+
+  /**
+   * @return the domains which need a new certificate, all of them when
+   * issuing a single SAN certificate.
+   */
+  private List<String> pending (List<String> aDomainNames) {
+    if(config.isSanCertificate()) {
+      return isValid(inventory.get(aDomainNames.get(0)), aDomainNames) ? Collections.emptyList() : aDomainNames;
+    }
+    List<String> pending = new ArrayList<>();
+    for(String domain : aDomainNames) {
+      if(!isValid(inventory.get(domain), Collections.singletonList(domain))) {
+        pending.add(domain);
+      }
+    }
+    return pending;
   }
-  
+
+  private boolean isValid (CertificateInfo aCertificate, List<String> aDomainNames) {
+    return aCertificate != null
+        && aCertificate.covers(aDomainNames)
+        && aCertificate.getDaysToExpiry() > config.getRenewBeforeDays();
+  }
+
 }
@@ -0,0 +1,88 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the timings of the issuance phases and counters (e.g. challenge 
+ * hits and misses). 
+ * <p>
+ * Published through the actuator's <code>/metrics</code> endpoint when 
+ * the actuator is on the classpath.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class AcmeMetrics {
+
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  
+  /**
+   * Runs the given task, recording its duration under the given name.
+   */
+  public <T> T time (String aName, Callable<T> aTask) throws Exception {
+    long start = System.nanoTime();
+    try {
+      return aTask.call();
+    }
+    finally {
+      record(aName, System.nanoTime() - start);
+    }
+  }
+  
+  /**
+   * Records a duration (ns) under the given name.
+   */
+  public void record (String aName, long aNanos) {
+    timers.computeIfAbsent(aName, (name) -> new Timer()).record(aNanos);
+  }
+  
+  public void increment (String aName) {
+    counters.computeIfAbsent(aName, (name) -> new LongAdder()).increment();
+  }
+  
+  public Map<String, Timer> getTimers() {
+    return Collections.unmodifiableMap(timers);
+  }
+  
+  public Map<String, LongAdder> getCounters() {
+    return Collections.unmodifiableMap(counters);
+  }
+  
+  public static class Timer {
+    
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+    
+    void record (long aNanos) {
+      count.increment();
+      total.add(aNanos);
+      max.accumulate(aNanos);
+    }
+    
+    public long getCount() {
+      return count.sum();
+    }
+    
+    public long getTotalTime (TimeUnit aUnit) {
+      return aUnit.convert(total.sum(), TimeUnit.NANOSECONDS);
+    }
+    
+    public long getMaxTime (TimeUnit aUnit) {
+      return aUnit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+    
+  }
+  
+}
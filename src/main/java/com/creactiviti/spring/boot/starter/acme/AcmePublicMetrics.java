@@ -0,0 +1,67 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Publishes the {@link AcmeMetrics} through the actuator's <code>/metrics</code> endpoint:
+ * <ul>
+ * <li><code>acme.timer.{phase}.count</code>, <code>.total</code> and <code>.max</code> (ms) for each issuance phase</li>
+ * <li><code>acme.counter.{name}</code></li>
+ * <li><code>acme.certificate.{domain}.days-to-expiry</code></li>
+ * <li><code>acme.challenge-store.size</code> when using the in-memory store</li>
+ * </ul>
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class AcmePublicMetrics implements PublicMetrics {
+
+  private final AcmeMetrics metrics;
+  
+  private final ChallengeStore challengeStore;
+  
+  private final CertificateInventory inventory;
+  
+  public AcmePublicMetrics (AcmeMetrics aMetrics, ChallengeStore aChallengeStore, CertificateInventory aInventory) {
+    metrics = aMetrics;
+    challengeStore = aChallengeStore;
+    inventory = aInventory;
+  }
+  
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> result = new ArrayList<>();
+    
+    for(Map.Entry<String, AcmeMetrics.Timer> timer : metrics.getTimers().entrySet()) {
+      String prefix = "acme.timer." + timer.getKey();
+      result.add(new Metric<>(prefix + ".count", timer.getValue().getCount()));
+      result.add(new Metric<>(prefix + ".total", timer.getValue().getTotalTime(TimeUnit.MILLISECONDS)));
+      result.add(new Metric<>(prefix + ".max", timer.getValue().getMaxTime(TimeUnit.MILLISECONDS)));
+    }
+    
+    for(Map.Entry<String, LongAdder> counter : metrics.getCounters().entrySet()) {
+      result.add(new Metric<>("acme.counter." + counter.getKey(), counter.getValue().sum()));
+    }
+    
+    for(CertificateInfo certificate : inventory.getAll()) {
+      for(String domain : certificate.getDomains()) {
+        result.add(new Metric<>("acme.certificate." + domain + ".days-to-expiry", certificate.getDaysToExpiry()));
+      }
+    }
+    
+    if(challengeStore instanceof InMemoryChallengeStore) {
+      result.add(new Metric<>("acme.challenge-store.size", ((InMemoryChallengeStore)challengeStore).size()));
+    }
+    
+    return result;
+  }
+
+}
@@ -0,0 +1,250 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the files of an issuance -- domain key, CSR, chain and keystore --
+ * so that a crash never leaves a key which doesn't match its certificate.
+ * <p>
+ * When <code>acme.artifact-directory</code> is set, each issuance is written
+ * to a generation directory of its own, which is then published by atomically
+ * switching the <code>current</code> symbolic link to it:
+ * <pre>
+ * {artifact-directory}/[{domain}/]generations/{generation}/domain.key
+ *                                                         /domain.csr
+ *                                                         /domain-chain.crt
+ *                                                         /keystore.p12
+ * {artifact-directory}/[{domain}/]current -&gt; generations/{generation}
+ * </pre>
+ * Readers going through <code>current</code> see either the previous or the
+ * new generation as a whole, without any locking. The last
+ * <code>acme.artifact-generations</code> generations are kept.
+ * <p>
+ * Otherwise, the files are written to their configured locations, each
+ * through a temporary file which is synced and then atomically renamed.
+ * Only each file is replaced atomically, not the set: the keystore -- which
+ * holds the key along with its certificate -- and the chain are published
+ * first, and the domain key last. A crash in between never leaves a new key
+ * next to an old certificate, and as the domain key is reused once written,
+ * the next issuance goes on with the key the certificate was issued for.
+ * <p>
+ * Either way, every file is written in a single pass from memory and synced
+ * to disk before it is published.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class ArtifactStore {
+
+  static final String CURRENT = "current";
+  static final String GENERATIONS = "generations";
+
+  private final AcmeConfigProperties config;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private static final Logger logger = LoggerFactory.getLogger(ArtifactStore.class);
+
+  public ArtifactStore (AcmeConfigProperties aConfig) {
+    config = aConfig;
+  }
+
+  /**
+   * Starts writing the files of an issuance.
+   *
+   * @param aDirectory
+   *            The directory of the issuance, see {@link AcmeConfigProperties#resolve(String, String)}
+   */
+  public Generation begin (String aDirectory) {
+    return new Generation(aDirectory);
+  }
+
+  /**
+   * The files of a single issuance, written with {@link #write(String, byte[])}
+   * and then made visible all at once by {@link #publish()}.
+   */
+  public class Generation {
+
+    private final String directory;
+
+    private final Map<String, byte[]> files = new LinkedHashMap<>();
+
+    Generation (String aDirectory) {
+      directory = aDirectory;
+    }
+
+    /**
+     * Adds a file to the generation.
+     *
+     * @param aFileName
+     *            The configured name of the file, e.g. <code>acme.key-store-file</code>
+     * @param aContent
+     *            The content of the file
+     */
+    public Generation write (String aFileName, byte[] aContent) {
+      files.put(aFileName, aContent);
+      return this;
+    }
+
+    /**
+     * Writes the files to disk and publishes them.
+     *
+     * @return the published location of each file, by its configured name.
+     */
+    public Map<String, File> publish () throws IOException {
+      if(config.getArtifactDirectory() != null) {
+        publishGeneration();
+      }
+      else {
+        publishInPlace();
+      }
+      Map<String, File> published = new LinkedHashMap<>();
+      for(String fileName : files.keySet()) {
+        published.put(fileName, config.resolve(directory, fileName));
+      }
+      return published;
+    }
+
+    private void publishGeneration () throws IOException {
+      Path base = Paths.get(config.getArtifactDirectory()).toAbsolutePath();
+      if(directory != null) {
+        base = base.resolve(directory);
+      }
+      Path generations = Files.createDirectories(base.resolve(GENERATIONS));
+      String name = System.currentTimeMillis() + "-" + sequence.incrementAndGet();
+      Path generation = Files.createDirectory(generations.resolve(name));
+
+      for(Map.Entry<String, byte[]> file : files.entrySet()) {
+        writeFully(generation.resolve(Paths.get(file.getKey()).getFileName()), file.getValue());
+      }
+      sync(generation);
+
+      // rename(2) replaces the link atomically, a link can't be overwritten in place
+      Path link = Files.createSymbolicLink(base.resolve(CURRENT + "." + name + ".tmp"), Paths.get(GENERATIONS, name));
+      Files.move(link, base.resolve(CURRENT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      sync(base);
+
+      logger.info("Published the generation {}", generation);
+      prune(generations, name);
+    }
+
+    private void publishInPlace () throws IOException {
+      List<Map.Entry<String, byte[]>> ordered = new ArrayList<>(files.entrySet());
+      ordered.sort(Comparator.comparingInt((file) -> publishOrder(file.getKey())));
+      for(Map.Entry<String, byte[]> file : ordered) {
+        Path target = config.resolve(directory, file.getKey()).getAbsoluteFile().toPath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+          writeFully(temp, file.getValue());
+          Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+          Files.deleteIfExists(temp);
+        }
+      }
+    }
+
+    private int publishOrder (String aFileName) {
+      if(aFileName.equals(config.getKeyStoreFile())) {
+        return 0;
+      }
+      if(aFileName.equals(config.getDomainChainFile())) {
+        return 1;
+      }
+      if(aFileName.equals(config.getDomainKeyFile())) {
+        return 3;
+      }
+      return 2;
+    }
+
+  }
+
+  /**
+   * Writes the content through a channel in a single pass, and syncs it to disk.
+   */
+  private static void writeFully (Path aFile, byte[] aContent) throws IOException {
+    try (FileChannel channel = FileChannel.open(aFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.wrap(aContent);
+      while(buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+  }
+
+  /**
+   * Syncs a directory, so that the entries just created in it survive a crash.
+   * Not supported on every platform.
+   */
+  private static void sync (Path aDirectory) {
+    try (FileChannel channel = FileChannel.open(aDirectory, StandardOpenOption.READ)) {
+      channel.force(true);
+    }
+    catch (IOException ex) {
+      logger.debug("Can't sync the directory {}: {}", aDirectory, ex.getMessage());
+    }
+  }
+
+  /**
+   * Deletes all but the last <code>acme.artifact-generations</code> generations.
+   * Generation names start with their creation time, so they sort by age.
+   */
+  private void prune (Path aGenerations, String aCurrent) {
+    List<Path> generations = new ArrayList<>();
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(aGenerations)) {
+      entries.forEach(generations::add);
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to list the generations in " + aGenerations, ex);
+      return;
+    }
+    generations.sort((a, b) -> generationTime(b).compareTo(generationTime(a)));
+    for(Path generation : generations.subList(Math.min(generations.size(), Math.max(1, config.getArtifactGenerations())), generations.size())) {
+      if(generation.getFileName().toString().equals(aCurrent)) {
+        continue;
+      }
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(generation)) {
+        for(Path file : files) {
+          Files.delete(file);
+        }
+        Files.delete(generation);
+      }
+      catch (IOException ex) {
+        logger.warn("Failed to delete the generation " + generation, ex);
+      }
+    }
+  }
+
+  private static Long generationTime (Path aGeneration) {
+    String name = aGeneration.getFileName().toString();
+    int dash = name.indexOf('-');
+    try {
+      return Long.parseLong(dash > 0 ? name.substring(0, dash) : name);
+    }
+    catch (NumberFormatException ex) {
+      return 0L;
+    }
+  }
+
+}
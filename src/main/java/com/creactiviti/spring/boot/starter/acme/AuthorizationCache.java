@@ -0,0 +1,202 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.shredzone.acme4j.Authorization;
+import org.shredzone.acme4j.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the pending and valid authorizations of the account -- their
+ * location, status and expiry, by domain -- so that a later run can reuse
+ * them rather than going through the challenges again, and a run which died
+ * midway can resume them.
+ * <p>
+ * The cached authorizations are only used for the account they were stored
+ * with. Changes are kept in memory until {@link #save()}. Delete the file to
+ * force new authorizations.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class AuthorizationCache {
+
+  private static final String ACCOUNT = "account";
+  private static final String LOCATION = ".location";
+  private static final String STATUS = ".status";
+  private static final String EXPIRES = ".expires";
+
+  private final File file;
+
+  private final Map<String, CachedAuthorization> authorizations = new TreeMap<>();
+
+  private URL account;
+
+  private boolean dirty;
+
+  private static final Logger logger = LoggerFactory.getLogger(AuthorizationCache.class);
+
+  public AuthorizationCache (File aFile) {
+    file = aFile;
+  }
+
+  /**
+   * Loads the cached authorizations of the given account, dropping those of
+   * any other account.
+   */
+  public synchronized void load (URL aAccount) {
+    if(aAccount.equals(account)) {
+      return;
+    }
+    account = aAccount;
+    authorizations.clear();
+    if(!file.exists()) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = new FileReader(file)) {
+      properties.load(reader);
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to read the cached authorizations " + file, ex);
+      return;
+    }
+    if(!aAccount.toString().equals(properties.getProperty(ACCOUNT))) {
+      dirty = true;
+      return;
+    }
+    Instant now = Instant.now();
+    for(String name : properties.stringPropertyNames()) {
+      if(!name.endsWith(LOCATION)) {
+        continue;
+      }
+      String domain = name.substring(0, name.length() - LOCATION.length());
+      try {
+        CachedAuthorization authorization = new CachedAuthorization(
+          new URL(properties.getProperty(name)),
+          Status.valueOf(properties.getProperty(domain + STATUS)),
+          Instant.parse(properties.getProperty(domain + EXPIRES))
+        );
+        if(authorization.getExpires().isAfter(now)) {
+          authorizations.put(domain, authorization);
+        }
+      }
+      catch (RuntimeException | IOException ex) {
+        logger.warn("Ignoring the malformed cached authorization of {}: {}", domain, ex.toString());
+      }
+    }
+  }
+
+  /**
+   * @return the cached authorization of the domain, or <code>null</code> if
+   * there is none or it expired.
+   */
+  public synchronized CachedAuthorization get (String aDomain) {
+    CachedAuthorization authorization = authorizations.get(aDomain);
+    return authorization != null && authorization.getExpires().isAfter(Instant.now()) ? authorization : null;
+  }
+
+  /**
+   * Caches the authorization of the domain, as long as it is pending or valid
+   * and its expiry is known.
+   */
+  public synchronized void put (String aDomain, Authorization aAuthorization) {
+    Status status = aAuthorization.getStatus();
+    if(aAuthorization.getExpires() == null || (status != Status.PENDING && status != Status.VALID)) {
+      remove(aDomain);
+      return;
+    }
+    authorizations.put(aDomain, new CachedAuthorization(aAuthorization.getLocation(), status, aAuthorization.getExpires()));
+    dirty = true;
+  }
+
+  /**
+   * Marks the cached authorization of the domain as valid, once its challenge
+   * turned valid.
+   */
+  public synchronized void validated (String aDomain) {
+    CachedAuthorization authorization = authorizations.get(aDomain);
+    if(authorization != null) {
+      authorizations.put(aDomain, new CachedAuthorization(authorization.getLocation(), Status.VALID, authorization.getExpires()));
+      dirty = true;
+    }
+  }
+
+  public synchronized void remove (String aDomain) {
+    if(authorizations.remove(aDomain) != null) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * Writes the cached authorizations, if they changed since they were last written.
+   */
+  public synchronized void save () {
+    if(!dirty || account == null) {
+      return;
+    }
+    Properties properties = new Properties();
+    properties.setProperty(ACCOUNT, account.toString());
+    authorizations.forEach((domain, authorization) -> {
+      properties.setProperty(domain + LOCATION, authorization.getLocation().toString());
+      properties.setProperty(domain + STATUS, authorization.getStatus().name());
+      properties.setProperty(domain + EXPIRES, authorization.getExpires().toString());
+    });
+    try {
+      Path target = file.getAbsoluteFile().toPath();
+      Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+        properties.store(writer, "ACME authorizations");
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to cache the authorizations " + file, ex);
+    }
+  }
+
+  public static class CachedAuthorization {
+
+    private final URL location;
+    private final Status status;
+    private final Instant expires;
+
+    CachedAuthorization (URL aLocation, Status aStatus, Instant aExpires) {
+      location = aLocation;
+      status = aStatus;
+      expires = aExpires;
+    }
+
+    public URL getLocation() {
+      return location;
+    }
+
+    /**
+     * @return the status as last seen, the CA may have moved on since.
+     */
+    public Status getStatus() {
+      return status;
+    }
+
+    public Instant getExpires() {
+      return expires;
+    }
+
+  }
+
+}
@@ -1,18 +1,44 @@
 package com.creactiviti.spring.boot.starter.acme;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.KeyPair;
+import java.security.KeyStore;
 import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
 
-import org.apache.commons.io.IOUtils;
 import org.shredzone.acme4j.Authorization;
 import org.shredzone.acme4j.Certificate;
 import org.shredzone.acme4j.Registration;
@@ -20,16 +46,22 @@ import org.shredzone.acme4j.RegistrationBuilder;
 import org.shredzone.acme4j.Session;
 import org.shredzone.acme4j.Status;
 import org.shredzone.acme4j.challenge.Challenge;
+import org.shredzone.acme4j.challenge.Dns01Challenge;
 import org.shredzone.acme4j.challenge.Http01Challenge;
 import org.shredzone.acme4j.exception.AcmeConflictException;
 import org.shredzone.acme4j.exception.AcmeException;
+import org.shredzone.acme4j.exception.AcmeUnauthorizedException;
 import org.shredzone.acme4j.util.CSRBuilder;
 import org.shredzone.acme4j.util.CertificateUtils;
 import org.shredzone.acme4j.util.KeyPairUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * @author Arik Cohen
@@ -42,13 +74,45 @@ public class CertGenerator {
   
   private final AcmeConfigProperties config;
   
-  private static final int KEY_SIZE = 2048;
-
-  private static final Logger logger = LoggerFactory.getLogger(ChallengeController.class);
+  private final ChallengePoller poller;
+  
+  private final ApplicationEventPublisher eventPublisher;
+  
+  private final AccountCache accountCache;
+  
+  private final AuthorizationCache authorizationCache;
+  
+  private final KeyPairProvider keyPairs;
+  
+  private final AcmeMetrics metrics;
+  
+  private final RateLimiter rateLimiter;
+  
+  private final ArtifactStore artifacts;
+  
+  private final ObjectProvider<DnsChallengeProvider> dnsChallengeProvider;
+  
+  private static final int MAX_SELF_CHECK_REDIRECTS = 10;
+  
+  /** the CA doesn't validate the certificate of an https redirect, nor does the self-check */
+  private static final SSLSocketFactory SELF_CHECK_SOCKET_FACTORY = trustAllSocketFactory();
+  
+  private static final HostnameVerifier SELF_CHECK_HOSTNAME_VERIFIER = (hostname, session) -> true;
+  
+  private static final Logger logger = LoggerFactory.getLogger(CertGenerator.class);
 
-  public CertGenerator (ChallengeStore aChallengeStore, AcmeConfigProperties aConfig) {
+  public CertGenerator (ChallengeStore aChallengeStore, AcmeConfigProperties aConfig, ChallengePoller aPoller, ApplicationEventPublisher aEventPublisher, KeyPairProvider aKeyPairs, AcmeMetrics aMetrics, RateLimiter aRateLimiter, ArtifactStore aArtifacts, ObjectProvider<DnsChallengeProvider> aDnsChallengeProvider) {
     challengeStore = aChallengeStore;
     config = aConfig;
+    poller = aPoller;
+    eventPublisher = aEventPublisher;
+    accountCache = new AccountCache(accountFile(aConfig));
+    authorizationCache = new AuthorizationCache(authorizationFile(aConfig));
+    keyPairs = aKeyPairs;
+    metrics = aMetrics;
+    rateLimiter = aRateLimiter;
+    artifacts = aArtifacts;
+    dnsChallengeProvider = aDnsChallengeProvider;
   }
 
   /**
@@ -59,99 +123,408 @@ public class CertGenerator {
    *            The name of the daomain to get a common certificate for
    */
   public void generate (String aDomain) throws Exception {
+    generate(Collections.singletonList(aDomain));
+  }
+  
+  /**
+   * Generates certificates for the given domains. Also takes care of the registration
+   * process.
+   * <p>
+   * Either a single SAN certificate is issued for all the domains, or -- when 
+   * <code>acme.san-certificate</code> is false -- a certificate per domain, 
+   * written to a directory named after that domain.
+   *
+   * @param aDomains
+   *            The names of the domains to get certificates for
+   * @see #generateBatches(List)
+   */
+  public void generate (List<String> aDomains) throws Exception {
+    Assert.notEmpty(aDomains, "no domains to generate a certificate for");
+    if(config.isSanCertificate()) {
+      generateBatches(Collections.singletonList(aDomains));
+    }
+    else {
+      generateBatches(aDomains.stream().map(Collections::singletonList).collect(Collectors.toList()));
+    }
+  }
+  
+  /**
+   * Generates a certificate for each batch of domains. Also takes care of the 
+   * registration process.
+   * <p>
+   * The domains are authorized concurrently on a bounded executor (see 
+   * <code>acme.issuance-threads</code>), and each batch's certificate is issued 
+   * as soon as all of its domains are authorized. The certificate files are 
+   * written to the configured locations as is when <code>acme.san-certificate</code> 
+   * is true, otherwise to a directory named after the batch's first domain.
+   * <p>
+   * A batch which would exceed one of the CA's rate limits fails with a 
+   * {@link RateLimitException}, without contacting the CA.
+   *
+   * @param aBatches
+   *            The names of the domains to put on each certificate
+   * @see #generateEach(List)
+   */
+  public void generateBatches (List<List<String>> aBatches) throws Exception {
+    Exception failure = null;
+    for(Exception cause : generateEach(aBatches).values()) {
+      if(failure == null) {
+        failure = cause;
+      }
+      else {
+        failure.addSuppressed(cause);
+      }
+    }
+    if(failure != null) {
+      throw failure;
+    }
+  }
+  
+  /**
+   * Generates a certificate for each batch of domains, as 
+   * {@link #generateBatches(List)} does, but reports the failure of each 
+   * batch rather than failing as a whole.
+   *
+   * @param aBatches
+   *            The names of the domains to put on each certificate
+   * @return the reason each batch which failed failed, by batch
+   * @throws Exception if no batch could be attempted, e.g. as the account couldn't be bound 
+   */
+  public Map<List<String>, Exception> generateEach (List<List<String>> aBatches) throws Exception {
+    Assert.notEmpty(aBatches, "no domains to generate a certificate for");
+    aBatches.forEach(CertGenerator::checkNoWildcards);
+    
     // Load the user key file. If there is no key file, create a new one.
     // Keep this key pair in a safe place! In a production environment, you will not be
     // able to access your account again if you should lose the key pair.
-    KeyPair userKeyPair = loadOrCreateKeyPair(new File(config.getUserKeyFile()));
+    KeyPair userKeyPair = metrics.time("key.load", () -> keyPairs.loadOrCreateUserKeyPair(new File(config.getUserKeyFile())));
 
     // Create a session for Let's Encrypt.
     Session session = new Session(config.getEndpoint(), userKeyPair);
 
     // Get the Registration to the account.
     // If there is no account yet, create a new one.
-    Registration reg = getOrCreateAccount(session);
-
-    authorize(reg, aDomain);
-
-    // Load or create a key pair for the domains. This should not be the userKeyPair!
-    KeyPair domainKeyPair = loadOrCreateKeyPair(new File(config.getDomainKeyFile()));
+    AccountCache.CachedAccount cached = accountCache.load(config.getEndpoint(), userKeyPair);
+    Registration reg = metrics.time("account.bind", () -> cached != null ? bindCachedAccount(session, cached) : getOrCreateAccount(session));
+    
+    if(config.isReuseAuthorizations()) {
+      authorizationCache.load(reg.getLocation());
+    }
+    
+    ChallengePublisher publisher = isDnsChallenge() ? new DnsChallengePublisher(dnsChallengeProvider.getIfAvailable()) : new HttpChallengePublisher();
+    
+    int domainCount = aBatches.stream().mapToInt(List::size).sum();
+    
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(config.getIssuanceThreads(), domainCount));
+    
+    Map<List<String>, CompletableFuture<?>> futures = new LinkedHashMap<>();
+    
+    try {
+      List<List<String>> allowed = new ArrayList<>();
+      for(List<String> batch : aBatches) {
+        long wait = rateLimiter.acquire(batch);
+        if(wait > 0) {
+          CompletableFuture<?> limited = new CompletableFuture<>();
+          limited.completeExceptionally(new RateLimitException(batch, Instant.now().plusMillis(wait)));
+          futures.put(batch, limited);
+        }
+        else {
+          allowed.add(batch);
+        }
+      }
+      
+      List<String> domains = allowed.stream().flatMap(List::stream).collect(Collectors.toList());
+      Map<String, CompletableFuture<Challenge>> prepared = new LinkedHashMap<>();
+      if(cached != null && !domains.isEmpty()) {
+        reg = checkCachedAccount(session, reg, cached, domains.get(0), publisher, prepared);
+      }
+      Map<String, CompletableFuture<Challenge>> authorizations = authorize(domains, userKeyPair, reg, executor, publisher, prepared);
+      
+      for(List<String> batch : allowed) {
+        Registration batchReg = bind(userKeyPair, reg);
+        CompletableFuture<?>[] batchAuthorizations = batch.stream().map(authorizations::get).toArray(CompletableFuture[]::new);
+        futures.put(batch, CompletableFuture.allOf(batchAuthorizations).thenCompose((nothing) -> async(() -> {
+          issue(batchReg, batch, config.isSanCertificate() ? null : batch.get(0));
+          return null;
+        }, executor)));
+      }
+      return awaitAll(futures);
+    }
+    finally {
+      futures.values().forEach((future) -> future.cancel(true));
+      executor.shutdownNow();
+      publisher.close();
+      if(config.isReuseAuthorizations()) {
+        authorizationCache.save();
+      }
+    }
+  }
+  
+  private boolean isDnsChallenge () {
+    return Dns01Challenge.TYPE.equals(config.getChallengeType());
+  }
+  
+  /**
+   * Rejects the wildcard domains: the CA only issues them through ACME v2, 
+   * while this starter speaks ACME v1.
+   */
+  static void checkNoWildcards (List<String> aDomains) {
+    for(String domain : aDomains) {
+      Assert.isTrue(!domain.startsWith("*."), "Wildcard domains are not supported, their certificates can't be issued through ACME v1: " + domain);
+    }
+  }
+  
+  /**
+   * @return a socket factory which trusts any certificate, for the self-check 
+   * connections only.
+   */
+  private static SSLSocketFactory trustAllSocketFactory () {
+    X509TrustManager trustAll = new X509TrustManager() {
+      @Override
+      public void checkClientTrusted (X509Certificate[] aChain, String aAuthType) {
+      }
+      @Override
+      public void checkServerTrusted (X509Certificate[] aChain, String aAuthType) {
+      }
+      @Override
+      public X509Certificate[] getAcceptedIssuers () {
+        return new X509Certificate[0];
+      }
+    };
+    try {
+      SSLContext context = SSLContext.getInstance("TLS");
+      context.init(null, new TrustManager[] {trustAll}, null);
+      return context.getSocketFactory();
+    }
+    catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Failed to create the self-check SSL context", ex);
+    }
+  }
+  
+  /**
+   * Issues a certificate for the given -- already authorized -- domains.
+   * 
+   * @param aRegistration
+   *            {@link Registration} of your account
+   * @param aDomains
+   *            The names of the domains to put on the certificate
+   * @param aDirectory
+   *            The directory to write the certificate files to. When <code>null</code>, 
+   *            the configured file locations are used as is.
+   */
+  private void issue (Registration aRegistration, List<String> aDomains, String aDirectory) throws Exception {
+    // Load the key pair of the domains, or create one. This should not be the userKeyPair!
+    KeyPair domainKeyPair = metrics.time("key.load", () -> {
+      KeyPair existing = keyPairs.loadDomainKeyPair(config.resolve(aDirectory, config.getDomainKeyFile()));
+      return existing != null ? existing : keyPairs.createDomainKeyPair();
+    });
+    
+    // The files are only published once the certificate has been issued, all at once.
+    ArtifactStore.Generation generation = artifacts.begin(aDirectory);
+    generation.write(config.getDomainKeyFile(), pem((writer) -> KeyPairUtils.writeKeyPair(domainKeyPair, writer)));
 
     // Generate a CSR for all of the domains, and sign it with the domain key pair.
-    CSRBuilder csrb = new CSRBuilder();
-    csrb.addDomains(Arrays.asList(aDomain));
-    csrb.sign(domainKeyPair);
+    CSRBuilder csrb = metrics.time("csr.build", () -> {
+      CSRBuilder builder = new CSRBuilder();
+      builder.addDomains(aDomains);
+      builder.sign(domainKeyPair);
 
-    // Write the CSR to a file, for later use.
-    try (Writer out = new FileWriter(new File(config.getDomainCsrFile()))) {
-      csrb.write(out);
-    }
+      // Keep the CSR, for later use.
+      generation.write(config.getDomainCsrFile(), pem(builder::write));
+      return builder;
+    });
 
     // Now request a signed certificate.
-    Certificate certificate = reg.requestCertificate(csrb.getEncoded());
+    Certificate certificate = metrics.time("certificate.request", () -> aRegistration.requestCertificate(csrb.getEncoded()));
 
-    logger.info("Success! The certificate for domain {} has been generated!", aDomain);
+    logger.info("Success! The certificate for domains {} has been generated!", aDomains);
     logger.info("Certificate URL: {}", certificate.getLocation());
 
     // Download the leaf certificate and certificate chain.
-    X509Certificate cert = certificate.download();
-    X509Certificate[] chain = certificate.downloadChain();
-
-    // Write a combined file containing the certificate and chain.
-    try (FileWriter fw = new FileWriter(new File (config.getDomainChainFile()))) {
-      CertificateUtils.writeX509CertificateChain(fw, cert, chain);
-    }
-
-    // convert the certificate format to PKS
-    ProcessBuilder pbuilder = new ProcessBuilder("openssl","pkcs12","-export","-out",config.getKeyStoreFile(),"-inkey",config.getDomainKeyFile(),"-in",config.getDomainChainFile(),"-password","pass:" + config.getKeyStorePassword());
-    pbuilder.redirectErrorStream(true);
-
-    Process process = pbuilder.start();
-    int errCode = process.waitFor();
+    X509Certificate[] certChain = metrics.time("certificate.download", () -> {
+      X509Certificate cert = certificate.download();
+      X509Certificate[] chain = certificate.downloadChain();
+      X509Certificate[] result = new X509Certificate[chain.length + 1];
+      result[0] = cert;
+      System.arraycopy(chain, 0, result, 1, chain.length);
+      return result;
+    });
+
+    // Store the domain key and the certificate chain in a PKCS12 keystore, 
+    // next to a combined file containing the certificate and chain.
+    KeyStore keyStore = createKeyStore(aDomains.get(0), domainKeyPair, certChain);
+    Map<String, File> published = metrics.time("keystore.export", () -> {
+      generation.write(config.getDomainChainFile(), pem((writer) -> CertificateUtils.writeX509CertificateChain(writer, certChain[0], Arrays.copyOfRange(certChain, 1, certChain.length))));
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      keyStore.store(out, config.getKeyStorePassword().toCharArray());
+      generation.write(config.getKeyStoreFile(), out.toByteArray());
+      return generation.publish();
+    });
+    
+    metrics.increment("certificate.issued");
     
-    try(InputStream in = process.getInputStream(); StringWriter writer = new StringWriter()) {
-      IOUtils.copy(in, writer, "ASCII");
-      logger.debug("openssl finished with exit code {} \n{}",errCode, writer.toString());
+    eventPublisher.publishEvent(new CertificateIssuedEvent(this, aDomains, domainKeyPair, certChain, keyStore, published.get(config.getKeyStoreFile())));
+  }
+  
+  /**
+   * Creates a PKCS12 {@link KeyStore} holding the domain's private key along 
+   * with its certificate chain, under the given alias.
+   */
+  private KeyStore createKeyStore (String aAlias, KeyPair aDomainKeyPair, X509Certificate[] aCertChain) throws GeneralSecurityException, IOException {
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    keyStore.load(null, null);
+    keyStore.setKeyEntry(aAlias, aDomainKeyPair.getPrivate(), config.getKeyStorePassword().toCharArray(), aCertChain);
+    return keyStore;
+  }
+  
+  /**
+   * Renders a PEM file in memory.
+   */
+  private static byte[] pem (PemWriter aWriter) throws IOException {
+    StringWriter writer = new StringWriter();
+    aWriter.write(writer);
+    return writer.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+  
+  @FunctionalInterface
+  private interface PemWriter {
+    void write (Writer aWriter) throws IOException;
+  }
+  
+  /**
+   * Waits for all the futures to complete. A failure of one batch does not 
+   * cancel the others.
+   * 
+   * @return the failure of each batch which failed, by batch
+   */
+  private Map<List<String>, Exception> awaitAll (Map<List<String>, CompletableFuture<?>> aFutures) throws InterruptedException {
+    Map<List<String>, Exception> failures = new LinkedHashMap<>();
+    
+    for(Map.Entry<List<String>, CompletableFuture<?>> future : aFutures.entrySet()) {
+      try {
+        future.getValue().get();
+      }
+      catch (ExecutionException ex) {
+        logger.error("Failed to process domain(s) " + String.join(",", future.getKey()), ex.getCause());
+        failures.put(future.getKey(), ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex);
+      }
     }
     
+    return failures;
   }
-
+  
   /**
-   * Loads a key pair from specified file. If the file does not exist,
-   * a new key pair is generated and saved.
-   *
-   * @return {@link KeyPair}.
+   * Runs the given blocking task on the given executor.
    */
-  private KeyPair loadOrCreateKeyPair(File file) throws IOException {
-    if (file.exists()) {
-      try (FileReader fr = new FileReader(file)) {
-        return KeyPairUtils.readKeyPair(fr);
+  private <T> CompletableFuture<T> async (Callable<T> aTask, Executor aExecutor) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    aExecutor.execute(() -> {
+      try {
+        future.complete(aTask.call());
       }
-    } else {
-      KeyPair domainKeyPair = KeyPairUtils.createKeyPair(KEY_SIZE);
-      try (FileWriter fw = new FileWriter(file)) {
-        KeyPairUtils.writeKeyPair(domainKeyPair, fw);
+      catch (Exception ex) {
+        future.completeExceptionally(ex);
       }
-      return domainKeyPair;
+    });
+    return future;
+  }
+  
+  /**
+   * Binds the account to a new {@link Session}, so that domains can be processed 
+   * concurrently without sharing the session -- and its nonce -- between threads.
+   */
+  private Registration bind (KeyPair aUserKeyPair, Registration aRegistration) {
+    return Registration.bind(new Session(config.getEndpoint(), aUserKeyPair), aRegistration.getLocation());
+  }
+  
+  /**
+   * The account is cached in <code>acme.account-file</code> or, by 
+   * default, next to the user key file.
+   */
+  private static File accountFile (AcmeConfigProperties aConfig) {
+    if(aConfig.getAccountFile() != null) {
+      return new File(aConfig.getAccountFile());
     }
+    return new File(new File(aConfig.getUserKeyFile()).getAbsoluteFile().getParentFile(), "account.properties");
   }
-
+  
+  /**
+   * The authorizations are cached in <code>acme.authorization-file</code> or, by 
+   * default, next to the user key file.
+   */
+  private static File authorizationFile (AcmeConfigProperties aConfig) {
+    if(aConfig.getAuthorizationFile() != null) {
+      return new File(aConfig.getAuthorizationFile());
+    }
+    return new File(new File(aConfig.getUserKeyFile()).getAbsoluteFile().getParentFile(), "authorizations.properties");
+  }
+  
   /**
-   * Finds your {@link Registration} at the ACME server. It will be found by your user's
-   * public key. If your key is not known to the server yet, a new registration will be
-   * created.
+   * Binds the {@link Registration} to the location of the account cached by 
+   * a previous run, without asking the CA anything: whether the CA still 
+   * knows the account is left to its first authorized call, see 
+   * {@link #checkCachedAccount}.
+   */
+  private Registration bindCachedAccount (Session aSession, AccountCache.CachedAccount aCached) {
+    logger.info("Binding to the cached account, URL: {}", aCached.getLocation());
+    return Registration.bind(aSession, aCached.getLocation());
+  }
+  
+  /**
+   * Prepares the challenge of the first domain on the session of the cached 
+   * account -- which is the account's first authorized call -- ahead of the 
+   * other domains.
    * <p>
-   * This is a simple way of finding your {@link Registration}. A better way is to get
-   * the URL of your new registration with {@link Registration#getLocation()} and store
-   * it somewhere. If you need to get access to your account later, reconnect to it via
-   * {@link Registration#bind(Session, URL)} by using the stored location.
+   * If the CA no longer knows the account (e.g. it was deactivated, or the CA 
+   * was reset) the cache is dropped and the account looked up again, the 
+   * domain being left to prepare along with the others. Otherwise, if the 
+   * terms of service in the directory the session just fetched changed since 
+   * the account agreed to them, the new terms are accepted.
+   *
+   * @param aPrepared
+   *            receives the challenge of the domain, once prepared
+   * @return the {@link Registration} to go on with
+   */
+  private Registration checkCachedAccount (Session aSession, Registration aRegistration, AccountCache.CachedAccount aCached, String aDomain, ChallengePublisher aPublisher, Map<String, CompletableFuture<Challenge>> aPrepared) throws Exception {
+    try {
+      aPrepared.put(aDomain, CompletableFuture.completedFuture(metrics.time("authorize.prepare", () -> prepare(aSession, aRegistration, aDomain, aPublisher))));
+    }
+    catch (AcmeUnauthorizedException ex) {
+      logger.warn("The cached account {} is no longer usable, looking it up again: {}", aCached.getLocation(), ex.getMessage());
+      accountCache.clear();
+      Registration reg = metrics.time("account.bind", () -> getOrCreateAccount(aSession));
+      if(config.isReuseAuthorizations()) {
+        authorizationCache.load(reg.getLocation());
+      }
+      return reg;
+    }
+    catch (Exception ex) {
+      CompletableFuture<Challenge> failed = new CompletableFuture<>();
+      failed.completeExceptionally(ex);
+      aPrepared.put(aDomain, failed);
+    }
+    URI terms = aSession.getMetadata().getTermsOfService();
+    if(terms != null && !terms.equals(aCached.getTermsOfService())) {
+      logger.info("The Terms of Service changed: " + terms);
+      acceptAgreement(aRegistration, terms);
+      accountCache.save(config.getEndpoint(), aSession.getKeyPair(), aRegistration.getLocation(), terms);
+    }
+    return aRegistration;
+  }
+  
+  /**
+   * Finds your {@link Registration} at the ACME server by your user's public 
+   * key: if your key is not known to the server yet, a new registration will 
+   * be created. Either way its location is cached for the next runs.
    *
    * @param session
    *            {@link Session} to bind with
    * @return {@link Registration} connected to your account
    */
   private Registration getOrCreateAccount(Session session) throws AcmeException {
-
+    
     Registration reg;
+    URI agreement = null;
 
     try {
       // Try to create a new Registration.
@@ -160,7 +533,7 @@ public class CertGenerator {
 
       // This is a new account. Let the user accept the Terms of Service.
       // We won't be able to authorize domains until the ToS is accepted.
-      URI agreement = reg.getAgreement();
+      agreement = reg.getAgreement();
       logger.info("Terms of Service: " + agreement);
       acceptAgreement(reg, agreement);
 
@@ -170,88 +543,363 @@ public class CertGenerator {
       reg = Registration.bind(session, ex.getLocation());
       logger.info("Account does already exist, URL: " + reg.getLocation(), ex);
     }
+    
+    accountCache.save(config.getEndpoint(), session.getKeyPair(), reg.getLocation(), agreement);
 
     return reg;
   }
 
   /**
-   * Authorize a domain. It will be associated with your account, so you will be able to
-   * retrieve a signed certificate for the domain later.
+   * Authorizes the domains. They will be associated with your account, so you will 
+   * be able to retrieve signed certificates for them later.
+   * <p>
+   * You need separate authorizations for subdomains (e.g. "www" subdomain).
    * <p>
-   * You need separate authorizations for subdomains (e.g. "www" subdomain). Wildcard
-   * certificates are currently not supported.
+   * The challenges of all the domains are prepared first, then the responses 
+   * to the pending ones are published through the {@link ChallengePublisher} 
+   * in a single batch, after which the challenges are triggered. The blocking 
+   * calls to the CA are made on the given executor, each domain on a session 
+   * of its own, while waiting for the challenges to complete is left to the 
+   * {@link ChallengePoller}.
    *
+   * @param aDomains
+   *            Names of the domains to authorize
+   * @param aUserKeyPair
+   *            The key pair of your account
    * @param aRegistration
    *            {@link Registration} of your account
-   * @param aDomain
-   *            Name of the domain to authorize
+   * @param aExecutor
+   *            The executor to make the blocking calls on
+   * @param aPublisher
+   *            Publishes the responses to the challenges
+   * @param aPrepared
+   *            The challenges already prepared, by domain
+   * @return a future per domain which completes once the domain is authorized
+   */
+  private Map<String, CompletableFuture<Challenge>> authorize (List<String> aDomains, KeyPair aUserKeyPair, Registration aRegistration, Executor aExecutor, ChallengePublisher aPublisher, Map<String, CompletableFuture<Challenge>> aPrepared) {
+    long start = System.nanoTime();
+    
+    Map<String, CompletableFuture<Challenge>> prepared = new LinkedHashMap<>();
+    for(String domain : aDomains) {
+      if(aPrepared.containsKey(domain)) {
+        prepared.put(domain, aPrepared.get(domain));
+        continue;
+      }
+      Session domainSession = new Session(config.getEndpoint(), aUserKeyPair);
+      Registration domainReg = Registration.bind(domainSession, aRegistration.getLocation());
+      prepared.put(domain, async(() -> metrics.time("authorize.prepare", () -> prepare(domainSession, domainReg, domain, aPublisher)), aExecutor));
+    }
+    
+    // the domains which failed to prepare are left out, they fail on their own
+    CompletableFuture<Void> published = CompletableFuture.allOf(prepared.values().toArray(new CompletableFuture<?>[0])).handle((nothing, error) -> {
+      Map<String, Challenge> pending = new LinkedHashMap<>();
+      prepared.forEach((domain, challenge) -> {
+        if(!challenge.isCompletedExceptionally() && challenge.join().getStatus() != Status.VALID) {
+          pending.put(domain, challenge.join());
+        }
+      });
+      return pending;
+    }).thenCompose((pending) -> async(() -> {
+      // so that a run which dies from here on can resume the pending authorizations
+      if(config.isReuseAuthorizations()) {
+        authorizationCache.save();
+      }
+      if(!pending.isEmpty()) {
+        metrics.time("challenge.publish", () -> {
+          aPublisher.publish(pending);
+          return null;
+        });
+      }
+      return null;
+    }, aExecutor));
+    
+    Map<String, CompletableFuture<Challenge>> authorizations = new LinkedHashMap<>();
+    prepared.forEach((domain, preparedChallenge) -> authorizations.put(domain, preparedChallenge.thenCombine(published, (challenge, nothing) -> challenge).thenCompose((challenge) -> {
+      // If the challenge is already verified, there's no need to execute it again.
+      if (challenge.getStatus() == Status.VALID) {
+        return CompletableFuture.completedFuture(challenge);
+      }
+      return async(() -> {
+        aPublisher.check(domain, challenge);
+        return metrics.time("authorize.trigger", () -> {
+          challenge.trigger();
+          return challenge;
+        });
+      }, aExecutor).thenCompose((triggered) -> poller.poll(triggered, domain)).whenComplete((result, error) -> {
+        aPublisher.settled(challenge);
+        if(challenge.getStatus() == Status.VALID) {
+          authorizationCache.validated(domain);
+        }
+        else if(challenge.getStatus() == Status.INVALID) {
+          // only the validations the CA itself failed count against its limit
+          rateLimiter.recordFailedValidation(domain);
+          authorizationCache.remove(domain);
+        }
+      });
+    }).whenComplete((challenge, error) -> {
+      metrics.record("authorize", System.nanoTime() - start);
+      metrics.increment(error == null ? "authorization.valid" : "authorization.failed");
+    })));
+    
+    return authorizations;
+  }
+  
+  /**
+   * Finds the challenge to prepare for the domain. 
+   * <p>
+   * With <code>acme.reuse-authorizations</code>, an authorization cached by a 
+   * previous run is used for as long as the CA still considers it valid -- in 
+   * which case there is no challenge left to complete -- or pending, in which 
+   * case its challenge is resumed rather than starting over with a new 
+   * authorization. Otherwise a new authorization is requested, and cached.
    */
-  private void authorize (Registration aRegistration, String aDomain) throws AcmeException {
-    // Authorize the domain.
+  private Challenge prepare (Session aSession, Registration aRegistration, String aDomain, ChallengePublisher aPublisher) throws AcmeException {
+    if(config.isReuseAuthorizations()) {
+      AuthorizationCache.CachedAuthorization cached = authorizationCache.get(aDomain);
+      if(cached != null) {
+        try {
+          Authorization auth = Authorization.bind(aSession, cached.getLocation());
+          auth.update();
+          Challenge challenge = auth.getStatus() == Status.VALID || auth.getStatus() == Status.PENDING ? aPublisher.find(auth, aDomain) : null;
+          // a valid authorization proven by another type of challenge is left alone
+          if(challenge != null && (auth.getStatus() == Status.PENDING || challenge.getStatus() == Status.VALID)) {
+            logger.info("Reusing the {} authorization for domain {}", auth.getStatus().name().toLowerCase(), aDomain);
+            metrics.increment(auth.getStatus() == Status.VALID ? "authorization.reused" : "authorization.resumed");
+            authorizationCache.put(aDomain, auth);
+            return challenge;
+          }
+        }
+        catch (AcmeException ex) {
+          logger.info("The cached authorization for domain {} can't be used: {}", aDomain, ex.getMessage());
+        }
+        authorizationCache.remove(aDomain);
+      }
+    }
     Authorization auth = aRegistration.authorizeDomain(aDomain);
     logger.info("Authorization for domain " + aDomain);
-
-    // Find the desired challenge and prepare it.
-    Challenge challenge = httpChallenge(auth, aDomain);
-
-    // If the challenge is already verified, there's no need to execute it again.
-    if (challenge.getStatus() == Status.VALID) {
-      return;
+    Challenge challenge = aPublisher.find(auth, aDomain);
+    if(config.isReuseAuthorizations()) {
+      authorizationCache.put(aDomain, auth);
     }
-
-    // Now trigger the challenge.
-    challenge.trigger();
-
-    // Poll for the challenge to complete.
-    try {
-      int attempts = 10;
-      while (challenge.getStatus() != Status.VALID && attempts-- > 0) {
-        // Did the authorization fail?
-        if (challenge.getStatus() == Status.INVALID) {
-          throw new AcmeException("Challenge failed... Giving up.");
+    return challenge;
+  }
+  
+  /**
+   * Publishes the responses to the challenges of one type where the CA 
+   * looks for them, and removes them once they're no longer needed.
+   */
+  private interface ChallengePublisher {
+    
+    /**
+     * @return the challenge of the publisher's type in the authorization
+     */
+    Challenge find (Authorization aAuthorization, String aDomain) throws AcmeException;
+    
+    /**
+     * Publishes the responses to the pending challenges in a single batch.
+     *
+     * @param aChallenges
+     *            The pending challenges, by domain
+     */
+    void publish (Map<String, Challenge> aChallenges) throws Exception;
+    
+    /**
+     * Checks, before the challenge is triggered, that the CA will find the 
+     * published response.
+     *
+     * @throws SelfCheckException if it won't
+     */
+    void check (String aDomain, Challenge aChallenge) throws Exception;
+    
+    /**
+     * Called once a challenge turned valid or invalid (or timed out).
+     */
+    void settled (Challenge aChallenge);
+    
+    /**
+     * Called once the issuance is over, to remove whatever is left.
+     */
+    void close ();
+    
+  }
+  
+  /**
+   * Publishes <code>http-01</code> key authorizations to the {@link ChallengeStore}, 
+   * and removes each token as soon as its challenge is settled.
+   */
+  private class HttpChallengePublisher implements ChallengePublisher {
+    
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public Challenge find (Authorization aAuthorization, String aDomain) throws AcmeException {
+      // Find a single http-01 challenge
+      Http01Challenge challenge = aAuthorization.findChallenge(Http01Challenge.TYPE);
+      
+      if (challenge == null) {
+        throw new AcmeException("Found no " + Http01Challenge.TYPE + " challenge for " + aDomain + ", don't know what to do...");
+      }
+      
+      return challenge;
+    }
+    
+    @Override
+    public void publish (Map<String, Challenge> aChallenges) {
+      Map<String, String> authorizations = new LinkedHashMap<>();
+      for(Challenge challenge : aChallenges.values()) {
+        Http01Challenge http = (Http01Challenge) challenge;
+        authorizations.put(http.getToken(), http.getAuthorization());
+      }
+      challengeStore.putAll(authorizations, config.getChallengeTimeToLive());
+      tokens.addAll(authorizations.keySet());
+    }
+    
+    /**
+     * When <code>acme.self-check-enabled</code> is on, requests the token the 
+     * way the CA will -- from <code>http://{domain}</code>, or from 
+     * <code>acme.self-check-base-url</code> -- following redirects like the 
+     * CA does, and fails unless the key authorization comes back.
+     */
+    @Override
+    public void check (String aDomain, Challenge aChallenge) throws Exception {
+      if(!config.isSelfCheckEnabled()) {
+        return;
+      }
+      Http01Challenge challenge = (Http01Challenge) aChallenge;
+      String base = config.getSelfCheckBaseUrl() != null ? config.getSelfCheckBaseUrl() : "http://" + aDomain;
+      URL url = new URL(StringUtils.trimTrailingCharacter(base, '/') + ChallengeFilter.PATH_PREFIX + challenge.getToken());
+      metrics.time("authorize.self-check", () -> {
+        selfCheck(aDomain, url, challenge.getAuthorization());
+        return null;
+      });
+    }
+    
+    private void selfCheck (String aDomain, URL aUrl, String aAuthorization) throws SelfCheckException {
+      URL url = aUrl;
+      try {
+        for(int redirects = 0; ; redirects++) {
+          HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+          connection.setConnectTimeout((int) config.getSelfCheckTimeout());
+          connection.setReadTimeout((int) config.getSelfCheckTimeout());
+          connection.setInstanceFollowRedirects(false);
+          if(connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) connection).setSSLSocketFactory(SELF_CHECK_SOCKET_FACTORY);
+            ((HttpsURLConnection) connection).setHostnameVerifier(SELF_CHECK_HOSTNAME_VERIFIER);
+          }
+          int status = connection.getResponseCode();
+          String location = connection.getHeaderField("Location");
+          if(status / 100 == 3 && location != null && redirects < MAX_SELF_CHECK_REDIRECTS) {
+            // unlike HttpURLConnection, the CA follows redirects from http to https
+            url = new URL(url, location);
+            continue;
+          }
+          if(status != HttpURLConnection.HTTP_OK) {
+            throw new SelfCheckException(aDomain, url + " answered " + status);
+          }
+          String body;
+          try (InputStream in = connection.getInputStream()) {
+            body = StreamUtils.copyToString(in, StandardCharsets.US_ASCII).trim();
+          }
+          if(!aAuthorization.equals(body)) {
+            throw new SelfCheckException(aDomain, url + " answered a key authorization which doesn't match the challenge's, is another instance answering?");
+          }
+          return;
         }
-
-        // Wait for a few seconds
-        Thread.sleep(3000L);
-
-        // Then update the status
-        challenge.update();
       }
-    } catch (InterruptedException ex) {
-      logger.error("interrupted", ex);
+      catch (IOException ex) {
+        throw new SelfCheckException(aDomain, url + " is unreachable: " + ex);
+      }
     }
-
-    // All reattempts are used up and there is still no valid authorization?
-    if (challenge.getStatus() != Status.VALID) {
-      throw new AcmeException("Failed to pass the challenge for domain " + aDomain + ", ... Giving up.");
+    
+    @Override
+    public void settled (Challenge aChallenge) {
+      String token = ((Http01Challenge) aChallenge).getToken();
+      if(tokens.remove(token)) {
+        try {
+          challengeStore.remove(token);
+        }
+        catch (Exception ex) {
+          logger.warn("Failed to remove the challenge " + token, ex);
+        }
+      }
+    }
+    
+    @Override
+    public void close () {
+      if(tokens.isEmpty()) {
+        return;
+      }
+      try {
+        challengeStore.removeAll(new ArrayList<>(tokens));
+      }
+      catch (Exception ex) {
+        logger.warn("Failed to remove the challenges " + tokens, ex);
+      }
     }
     
   }
-
+  
   /**
-   * Prepares a HTTP challenge.
-   * <p>
-   * The verification of this challenge expects a file with a certain content to be
-   * reachable at a given path under the domain to be tested.
-   * </p>
-   *
-   * @param aAuthorization
-   *            {@link Authorization} to find the challenge in
-   * @param aDomainName
-   *            Domain name to be authorized
-   * @return {@link Challenge} to verify
+   * Publishes <code>dns-01</code> TXT records through the {@link DnsChallengeProvider}. 
+   * The records are removed in a single batch once the issuance is over.
    */
-  private Challenge httpChallenge(Authorization aAuthorization, String aDomainName) throws AcmeException {
-    // Find a single http-01 challenge
-    Http01Challenge challenge = aAuthorization.findChallenge(Http01Challenge.TYPE);
+  private class DnsChallengePublisher implements ChallengePublisher {
+    
+    private final DnsChallengeProvider provider;
+    
+    private final Set<TxtRecord> records = ConcurrentHashMap.newKeySet();
     
-    if (challenge == null) {
-      throw new AcmeException("Found no " + Http01Challenge.TYPE + " challenge, don't know what to do...");
+    DnsChallengePublisher (DnsChallengeProvider aProvider) {
+      Assert.state(aProvider != null, "acme.challenge-type=dns-01 requires a DnsChallengeProvider bean, see acme.dns-provider");
+      provider = aProvider;
+    }
+    
+    @Override
+    public Challenge find (Authorization aAuthorization, String aDomain) throws AcmeException {
+      Dns01Challenge challenge = aAuthorization.findChallenge(Dns01Challenge.TYPE);
+      
+      if (challenge == null) {
+        throw new AcmeException("Found no " + Dns01Challenge.TYPE + " challenge for " + aDomain + ", don't know what to do...");
+      }
+      
+      return challenge;
+    }
+    
+    @Override
+    public void publish (Map<String, Challenge> aChallenges) throws Exception {
+      Set<TxtRecord> pending = new LinkedHashSet<>();
+      aChallenges.forEach((domain, challenge) -> pending.add(new TxtRecord("_acme-challenge." + domain, ((Dns01Challenge) challenge).getDigest())));
+      provider.createRecords(pending);
+      records.addAll(pending);
+      logger.info("Published {} TXT record(s)", pending.size());
+      if(config.getDnsPropagationDelay() > 0) {
+        Thread.sleep(config.getDnsPropagationDelay());
+      }
+    }
+    
+    @Override
+    public void check (String aDomain, Challenge aChallenge) {
+      // the propagation of the records is left to acme.dns-propagation-delay
+    }
+    
+    @Override
+    public void settled (Challenge aChallenge) {
+      // the records are removed all at once
+    }
+    
+    @Override
+    public void close () {
+      if(records.isEmpty()) {
+        return;
+      }
+      try {
+        provider.removeRecords(records);
+      }
+      catch (Exception ex) {
+        logger.warn("Failed to remove the TXT records " + records, ex);
+      }
     }
     
-    challengeStore.put(challenge.getToken(), challenge.getAuthorization());
-
-    return challenge;
   }
 
   private void acceptAgreement(Registration aRegistration, URI aAgreement) throws AcmeException {
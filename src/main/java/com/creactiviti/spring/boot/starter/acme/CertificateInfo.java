@@ -0,0 +1,85 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.math.BigInteger;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A summary of an issued certificate, as indexed by the {@link CertificateInventory}.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class CertificateInfo {
+
+  private static final int DNS_NAME = 2;
+  
+  private final List<String> domains;
+  private final BigInteger serialNumber;
+  private final String issuer;
+  private final Date notBefore;
+  private final Date notAfter;
+  
+  public CertificateInfo (X509Certificate aCertificate) throws CertificateParsingException {
+    domains = Collections.unmodifiableList(dnsNames(aCertificate));
+    serialNumber = aCertificate.getSerialNumber();
+    issuer = aCertificate.getIssuerX500Principal().getName();
+    notBefore = aCertificate.getNotBefore();
+    notAfter = aCertificate.getNotAfter();
+  }
+  
+  private static List<String> dnsNames (X509Certificate aCertificate) throws CertificateParsingException {
+    List<String> names = new ArrayList<>();
+    Collection<List<?>> alternativeNames = aCertificate.getSubjectAlternativeNames();
+    if(alternativeNames != null) {
+      for(List<?> name : alternativeNames) {
+        if(((Integer)name.get(0)) == DNS_NAME) {
+          names.add((String) name.get(1));
+        }
+      }
+    }
+    return names;
+  }
+  
+  /**
+   * @return the DNS names the certificate was issued for.
+   */
+  public List<String> getDomains() {
+    return domains;
+  }
+  
+  public BigInteger getSerialNumber() {
+    return serialNumber;
+  }
+  
+  public String getIssuer() {
+    return issuer;
+  }
+  
+  public Date getNotBefore() {
+    return notBefore;
+  }
+  
+  public Date getNotAfter() {
+    return notAfter;
+  }
+  
+  public long getDaysToExpiry() {
+    return Duration.between(Instant.now(), notAfter.toInstant()).toDays();
+  }
+  
+  /**
+   * @return <code>true</code> if the certificate covers all the given domains.
+   */
+  public boolean covers (Collection<String> aDomains) {
+    return domains.containsAll(aDomains);
+  }
+  
+}
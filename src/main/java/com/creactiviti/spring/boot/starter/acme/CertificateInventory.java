@@ -0,0 +1,112 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps an in-memory index of the issued certificates, by domain and by 
+ * expiry. The chain files on disk are parsed once at startup, after which 
+ * the index is updated with every issued certificate.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class CertificateInventory {
+
+  private final AcmeConfigProperties config;
+  
+  private final Map<String, CertificateInfo> byDomain = new ConcurrentHashMap<>();
+  
+  private final NavigableSet<CertificateInfo> byExpiry = new ConcurrentSkipListSet<>(
+    Comparator.comparing(CertificateInfo::getNotAfter).thenComparing(CertificateInfo::getSerialNumber)
+  );
+  
+  private static final Logger logger = LoggerFactory.getLogger(CertificateInventory.class);
+  
+  public CertificateInventory (AcmeConfigProperties aConfig) {
+    config = aConfig;
+  }
+  
+  /**
+   * Indexes the certificates already on disk.
+   */
+  @PostConstruct
+  public void load () {
+    if(config.isSanCertificate()) {
+      load(config.resolve(null, config.getDomainChainFile()));
+    }
+    else {
+      for(String domain : config.getDomains()) {
+        load(config.resolve(domain, config.getDomainChainFile()));
+      }
+    }
+  }
+  
+  private void load (File aChainFile) {
+    if(!aChainFile.exists()) {
+      return;
+    }
+    try (InputStream in = new FileInputStream(aChainFile)) {
+      add((X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in));
+    }
+    catch (Exception ex) {
+      logger.error("Failed to read the certificate " + aChainFile, ex);
+    }
+  }
+  
+  @EventListener
+  public void onCertificateIssued (CertificateIssuedEvent aEvent) throws Exception {
+    add(aEvent.getCertificateChain()[0]);
+  }
+  
+  private synchronized void add (X509Certificate aCertificate) throws Exception {
+    CertificateInfo info = new CertificateInfo(aCertificate);
+    byExpiry.add(info);
+    for(String domain : info.getDomains()) {
+      CertificateInfo previous = byDomain.put(domain, info);
+      if(previous != null && !byDomain.containsValue(previous)) {
+        byExpiry.remove(previous);
+      }
+    }
+  }
+  
+  /**
+   * @return the current certificate of the given domain, or <code>null</code> if there is none. 
+   */
+  public CertificateInfo get (String aDomain) {
+    return byDomain.get(aDomain);
+  }
+  
+  /**
+   * @return the current certificates, by expiry.
+   */
+  public List<CertificateInfo> getAll () {
+    return new ArrayList<>(byExpiry);
+  }
+  
+  /**
+   * @return the certificate which expires first, or <code>null</code> if there is none.
+   */
+  public CertificateInfo getFirstToExpire () {
+    return byExpiry.isEmpty() ? null : byExpiry.first();
+  }
+  
+}
@@ -0,0 +1,71 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by the {@link CertGenerator} whenever a certificate has 
+ * been issued and written to disk.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class CertificateIssuedEvent extends ApplicationEvent {
+
+  private final List<String> domains;
+  private final KeyPair keyPair;
+  private final X509Certificate[] certificateChain;
+  private final KeyStore keyStore;
+  private final File keyStoreFile;
+  
+  public CertificateIssuedEvent (Object aSource, List<String> aDomains, KeyPair aKeyPair, X509Certificate[] aCertificateChain, KeyStore aKeyStore, File aKeyStoreFile) {
+    super(aSource);
+    domains = aDomains;
+    keyPair = aKeyPair;
+    certificateChain = aCertificateChain;
+    keyStore = aKeyStore;
+    keyStoreFile = aKeyStoreFile;
+  }
+  
+  /**
+   * @return the domains the certificate was issued for.
+   */
+  public List<String> getDomains() {
+    return domains;
+  }
+  
+  /**
+   * @return the domain key pair.
+   */
+  public KeyPair getKeyPair() {
+    return keyPair;
+  }
+  
+  /**
+   * @return the issued certificate followed by its issuers.
+   */
+  public X509Certificate[] getCertificateChain() {
+    return certificateChain;
+  }
+  
+  /**
+   * @return the PKCS12 keystore holding the domain key and certificate chain,
+   * protected by <code>acme.key-store-password</code>.
+   */
+  public KeyStore getKeyStore() {
+    return keyStore;
+  }
+  
+  /**
+   * @return the file the keystore was written to.
+   */
+  public File getKeyStoreFile() {
+    return keyStoreFile;
+  }
+  
+}
@@ -0,0 +1,28 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+
+/**
+ * Exposes the {@link CertificateInventory} as the <code>/certificates</code> 
+ * actuator endpoint, listing the current certificates by expiry. 
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class CertificatesEndpoint extends AbstractEndpoint<List<CertificateInfo>> {
+
+  private final CertificateInventory inventory;
+  
+  public CertificatesEndpoint (CertificateInventory aInventory) {
+    super("certificates");
+    inventory = aInventory;
+  }
+
+  @Override
+  public List<CertificateInfo> invoke() {
+    return inventory.getAll();
+  }
+
+}
@@ -2,6 +2,7 @@ package com.creactiviti.spring.boot.starter.acme;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,20 +12,26 @@ import org.springframework.web.bind.annotation.RestController;
  * @since Feb 07, 2018
  */
 @RestController
+@ConditionalOnWebApplication
 public class ChallengeController {
 
   private static final Logger logger = LoggerFactory.getLogger(ChallengeController.class);
   
   private final ChallengeStore challengeStore;
   
-  public ChallengeController (ChallengeStore aChallengeStore) {
+  private final AcmeMetrics metrics;
+  
+  public ChallengeController (ChallengeStore aChallengeStore, AcmeMetrics aMetrics) {
     challengeStore = aChallengeStore;
+    metrics = aMetrics;
   }
 
   @GetMapping("/.well-known/acme-challenge/{token}")
   public String challenge (@PathVariable("token") String aToken) {
-    logger.info("Received challenge for {}", aToken);
-    return challengeStore.get(aToken);
+    logger.debug("Received challenge for {}", aToken);
+    String authorization = challengeStore.get(aToken);
+    metrics.increment(authorization != null ? "challenge.hit" : "challenge.miss");
+    return authorization;
   }
 
 }
@@ -0,0 +1,112 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Answers <code>/.well-known/acme-challenge/{token}</code> requests straight 
+ * from the {@link ChallengeStore}, ahead of the rest of the filter chain and 
+ * the <code>DispatcherServlet</code>. Unknown tokens get a bare 404 and are 
+ * logged at most once per <code>acme.challenge-miss-log-interval</code>, 
+ * so scanners hitting the path are cheap to serve.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ChallengeFilter implements Filter {
+
+  static final String PATH_PREFIX = "/.well-known/acme-challenge/";
+  
+  private final ChallengeStore challengeStore;
+  
+  private final AcmeMetrics metrics;
+  
+  private final long missLogInterval;
+  
+  private final AtomicLong nextMissLog = new AtomicLong();
+  
+  private final AtomicLong suppressedMisses = new AtomicLong();
+  
+  private static final Logger logger = LoggerFactory.getLogger(ChallengeFilter.class);
+  
+  /**
+   * @param aChallengeStore
+   *          the store to look the tokens up in
+   * @param aMetrics
+   *          to count the hits and misses with
+   * @param aMissLogInterval
+   *          the min interval (ms) between logs of unknown tokens
+   */
+  public ChallengeFilter (ChallengeStore aChallengeStore, AcmeMetrics aMetrics, long aMissLogInterval) {
+    challengeStore = aChallengeStore;
+    metrics = aMetrics;
+    missLogInterval = aMissLogInterval;
+  }
+
+  @Override
+  public void doFilter (ServletRequest aRequest, ServletResponse aResponse, FilterChain aChain) throws IOException, ServletException {
+    HttpServletRequest request = (HttpServletRequest) aRequest;
+    HttpServletResponse response = (HttpServletResponse) aResponse;
+    
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    
+    if(!path.startsWith(PATH_PREFIX) || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+      aChain.doFilter(aRequest, aResponse);
+      return;
+    }
+    
+    String token = path.substring(PATH_PREFIX.length());
+    byte[] body = token.isEmpty() || token.indexOf('/') >= 0 ? null : challengeStore.getEncoded(token);
+    
+    if(body == null) {
+      metrics.increment("challenge.miss");
+      logMiss(token);
+      // not sendError: that would dispatch to the error page through the MVC stack
+      response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+      response.setContentLength(0);
+      return;
+    }
+    
+    metrics.increment("challenge.hit");
+    logger.debug("Received challenge for {}", token);
+    
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType("text/plain");
+    response.setContentLength(body.length);
+    if("GET".equals(request.getMethod())) {
+      response.getOutputStream().write(body);
+    }
+  }
+  
+  private void logMiss (String aToken) {
+    long now = System.currentTimeMillis();
+    long next = nextMissLog.get();
+    if(now >= next && nextMissLog.compareAndSet(next, now + missLogInterval)) {
+      logger.info("Received challenge for unknown token {} ({} more unknown tokens since the last report)", aToken, suppressedMisses.getAndSet(0));
+    }
+    else {
+      suppressedMisses.incrementAndGet();
+    }
+  }
+  
+  @Override
+  public void init (FilterConfig aFilterConfig) {
+  }
+  
+  @Override
+  public void destroy () {
+  }
+  
+}
@@ -0,0 +1,176 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.shredzone.acme4j.Status;
+import org.shredzone.acme4j.challenge.Challenge;
+import org.shredzone.acme4j.exception.AcmeException;
+import org.shredzone.acme4j.exception.AcmeRetryAfterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls triggered challenges until they are either valid or invalid. 
+ * <p>
+ * Polls are scheduled on a small shared scheduler rather than parking a 
+ * thread per challenge, so many pending challenges can be followed 
+ * by a couple of threads. The server's Retry-After hint is honoured when 
+ * present, otherwise the delay between polls grows exponentially (with jitter) 
+ * up to <code>acme.poll-max-delay</code>.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class ChallengePoller implements DisposableBean {
+
+  private final ScheduledExecutorService scheduler;
+  
+  private final AcmeConfigProperties config;
+  
+  private final AcmeMetrics metrics;
+  
+  private static final Logger logger = LoggerFactory.getLogger(ChallengePoller.class);
+  
+  public ChallengePoller (AcmeConfigProperties aConfig, AcmeMetrics aMetrics) {
+    config = aConfig;
+    metrics = aMetrics;
+    AtomicInteger counter = new AtomicInteger();
+    scheduler = Executors.newScheduledThreadPool(aConfig.getPollerThreads(), (runnable) -> {
+      Thread thread = new Thread(runnable, "acme-poller-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+  
+  /**
+   * Polls the given -- already triggered -- challenge until it completes.
+   * 
+   * @param aChallenge
+   *          The challenge to poll
+   * @param aDomain
+   *          The domain the challenge belongs to
+   * @return a future which completes with the challenge once it is valid, or 
+   *         completes exceptionally once it turns invalid or the 
+   *         <code>acme.poll-timeout</code> is exceeded.
+   */
+  public CompletableFuture<Challenge> poll (Challenge aChallenge, String aDomain) {
+    CompletableFuture<Challenge> future = new CompletableFuture<>();
+    Instant deadline = Instant.now().plusMillis(config.getPollTimeout());
+    Poll poll = new Poll(aChallenge, aDomain, future, deadline);
+    if(!poll.isDone()) {
+      poll.schedule(config.getPollInitialDelay());
+    }
+    return future;
+  }
+  
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+  
+  private class Poll implements Runnable {
+    
+    private final Challenge challenge;
+    private final String domain;
+    private final CompletableFuture<Challenge> future;
+    private final Instant deadline;
+    private int attempt = 0;
+    
+    Poll (Challenge aChallenge, String aDomain, CompletableFuture<Challenge> aFuture, Instant aDeadline) {
+      challenge = aChallenge;
+      domain = aDomain;
+      future = aFuture;
+      deadline = aDeadline;
+    }
+    
+    @Override
+    public void run () {
+      if(future.isDone()) {
+        // cancelled by the caller
+        return;
+      }
+      
+      long delay = backoff(attempt++);
+      long start = System.nanoTime();
+      
+      try {
+        challenge.update();
+      }
+      catch (AcmeRetryAfterException ex) {
+        // the status is updated, but the server asks us to wait a little
+        delay = Math.max(0, Duration.between(Instant.now(), ex.getRetryAfter()).toMillis());
+      }
+      catch (AcmeException ex) {
+        future.completeExceptionally(ex);
+        return;
+      }
+      catch (RuntimeException ex) {
+        future.completeExceptionally(ex);
+        return;
+      }
+      finally {
+        metrics.record("authorize.poll", System.nanoTime() - start);
+      }
+      
+      if(isDone()) {
+        return;
+      }
+      
+      if(Instant.now().plusMillis(delay).isAfter(deadline)) {
+        future.completeExceptionally(new AcmeException("Failed to pass the challenge for domain " + domain + ", ... Giving up."));
+        return;
+      }
+      
+      schedule(delay);
+    }
+    
+    /**
+     * Completes the future if the challenge reached a final status. 
+     */
+    boolean isDone () {
+      Status status = challenge.getStatus();
+      if(status == Status.VALID) {
+        future.complete(challenge);
+        return true;
+      }
+      if(status == Status.INVALID) {
+        future.completeExceptionally(new AcmeException("Challenge for domain " + domain + " failed... Giving up."));
+        return true;
+      }
+      return false;
+    }
+    
+    void schedule (long aDelay) {
+      logger.debug("Polling the challenge for domain {} in {}ms", domain, aDelay);
+      try {
+        scheduler.schedule(this, aDelay, TimeUnit.MILLISECONDS);
+      }
+      catch (RuntimeException ex) {
+        // the scheduler has been shut down
+        future.completeExceptionally(ex);
+      }
+    }
+    
+    /**
+     * Exponential backoff with "equal jitter": half of the delay is fixed 
+     * and the other half is random.
+     */
+    private long backoff (int aAttempt) {
+      long delay = Math.min(config.getPollMaxDelay(), config.getPollInitialDelay() << Math.min(aAttempt, 20));
+      long half = delay / 2;
+      return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+    
+  }
+  
+}
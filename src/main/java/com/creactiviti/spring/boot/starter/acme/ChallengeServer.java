@@ -0,0 +1,165 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Answers <code>/.well-known/acme-challenge/{token}</code> requests from the
+ * {@link ChallengeStore} on a port of its own, using the JDK's built-in HTTP
+ * server. Meant for applications without a servlet container (e.g. Netty
+ * based ones), which would otherwise have nothing to answer the CA with.
+ * <p>
+ * The server starts with the application context, ahead of the issuance,
+ * and stops with it. If it can't bind its address it logs the failure and
+ * stays stopped, rather than failing the application.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ChallengeServer implements SmartLifecycle {
+
+  private static final int OK = 200;
+  private static final int NOT_FOUND = 404;
+  private static final int METHOD_NOT_ALLOWED = 405;
+
+  private final ChallengeStore challengeStore;
+
+  private final AcmeMetrics metrics;
+
+  private final InetSocketAddress address;
+
+  private final int threads;
+
+  private volatile HttpServer server;
+
+  private volatile ExecutorService executor;
+
+  private static final Logger logger = LoggerFactory.getLogger(ChallengeServer.class);
+
+  /**
+   * @param aChallengeStore
+   *          the store to look the tokens up in
+   * @param aMetrics
+   *          to count the hits and misses with
+   * @param aAddress
+   *          the address to listen on
+   * @param aThreads
+   *          the number of threads to serve the requests with
+   */
+  public ChallengeServer (ChallengeStore aChallengeStore, AcmeMetrics aMetrics, InetSocketAddress aAddress, int aThreads) {
+    challengeStore = aChallengeStore;
+    metrics = aMetrics;
+    address = aAddress;
+    threads = aThreads;
+  }
+
+  @Override
+  public void start () {
+    HttpServer httpServer;
+    try {
+      httpServer = HttpServer.create(address, 0);
+    }
+    catch (IOException ex) {
+      logger.error("Failed to start the challenge server on " + address + ", the http-01 challenges won't be answered", ex);
+      return;
+    }
+    httpServer.createContext(ChallengeFilter.PATH_PREFIX, this::handle);
+    AtomicInteger counter = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(threads, (runnable) -> {
+      Thread thread = new Thread(runnable, "acme-challenge-server-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    httpServer.setExecutor(executor);
+    httpServer.start();
+    server = httpServer;
+    logger.info("Serving ACME challenges on {}", httpServer.getAddress());
+  }
+
+  private void handle (HttpExchange aExchange) throws IOException {
+    try {
+      String method = aExchange.getRequestMethod();
+      if(!"GET".equals(method) && !"HEAD".equals(method)) {
+        aExchange.sendResponseHeaders(METHOD_NOT_ALLOWED, -1);
+        return;
+      }
+
+      String token = aExchange.getRequestURI().getPath().substring(ChallengeFilter.PATH_PREFIX.length());
+      byte[] body = token.isEmpty() || token.indexOf('/') >= 0 ? null : challengeStore.getEncoded(token);
+
+      if(body == null) {
+        metrics.increment("challenge.miss");
+        aExchange.sendResponseHeaders(NOT_FOUND, -1);
+        return;
+      }
+
+      metrics.increment("challenge.hit");
+      logger.debug("Received challenge for {}", token);
+
+      aExchange.getResponseHeaders().set("Content-Type", "text/plain");
+      if("HEAD".equals(method)) {
+        aExchange.getResponseHeaders().set("Content-Length", Integer.toString(body.length));
+        aExchange.sendResponseHeaders(OK, -1);
+        return;
+      }
+      aExchange.sendResponseHeaders(OK, body.length);
+      try (OutputStream out = aExchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+    finally {
+      aExchange.close();
+    }
+  }
+
+  @Override
+  public void stop () {
+    HttpServer httpServer = server;
+    if(httpServer != null) {
+      httpServer.stop(0);
+      executor.shutdownNow();
+      server = null;
+    }
+  }
+
+  @Override
+  public void stop (Runnable aCallback) {
+    stop();
+    aCallback.run();
+  }
+
+  @Override
+  public boolean isRunning () {
+    return server != null;
+  }
+
+  @Override
+  public boolean isAutoStartup () {
+    return true;
+  }
+
+  @Override
+  public int getPhase () {
+    return 0;
+  }
+
+  /**
+   * @return the address the server listens on, once started.
+   */
+  public InetSocketAddress getAddress () {
+    HttpServer httpServer = server;
+    return httpServer != null ? httpServer.getAddress() : address;
+  }
+
+}
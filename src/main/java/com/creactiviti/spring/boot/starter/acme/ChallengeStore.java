@@ -1,5 +1,9 @@
 package com.creactiviti.spring.boot.starter.acme;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author Arik Cohen
  * @since Feb 07, 2018
@@ -8,6 +12,54 @@ public interface ChallengeStore {
   
   String get (String aToken);
   
+  /**
+   * @return the key authorization of the token encoded as the response to 
+   * the CA, or <code>null</code> if the token is unknown. The array is shared 
+   * and must not be modified. Stores which keep the encoded form along with 
+   * the token override this to spare the encoding on every request.
+   */
+  default byte[] getEncoded (String aToken) {
+    String authorization = get(aToken);
+    return authorization != null ? authorization.getBytes(StandardCharsets.US_ASCII) : null;
+  }
+  
+  /**
+   * Stores the key authorization of a token for the store's default time to live.
+   */
   void put (String aToken, String aAuthorization);
   
+  /**
+   * Stores the key authorization of a token for the given time to live (ms). 
+   * Stores without a time to live per token keep it for their default one.
+   */
+  default void put (String aToken, String aAuthorization, long aTimeToLive) {
+    put(aToken, aAuthorization);
+  }
+  
+  /**
+   * Removes a token, e.g. once its challenge turned valid or invalid. Stores 
+   * which can't remove tokens leave them to expire.
+   */
+  default void remove (String aToken) {
+  }
+  
+  /**
+   * Stores the key authorizations of a batch of tokens for the given time 
+   * to live (ms). Shared stores override this to write the batch at once.
+   * 
+   * @param aAuthorizations
+   *          the key authorizations, by token
+   */
+  default void putAll (Map<String, String> aAuthorizations, long aTimeToLive) {
+    aAuthorizations.forEach((token, authorization) -> put(token, authorization, aTimeToLive));
+  }
+  
+  /**
+   * Removes a batch of tokens. Shared stores override this to remove the 
+   * batch at once.
+   */
+  default void removeAll (Collection<String> aTokens) {
+    aTokens.forEach(this::remove);
+  }
+  
 }
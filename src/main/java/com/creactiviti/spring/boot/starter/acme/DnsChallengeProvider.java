@@ -0,0 +1,32 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Publishes the TXT records of <code>dns-01</code> challenges. Plug in an 
+ * implementation for your DNS provider by declaring it as a bean.
+ * <p>
+ * The records of all the domains being authorized are handed over in a single 
+ * batch, so that an implementation can publish them in one update -- e.g. a 
+ * single change set of the provider's API. A name may be given several values, 
+ * e.g. for <code>example.com</code> and <code>*.example.com</code>, which must 
+ * all be published side by side.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public interface DnsChallengeProvider {
+
+  /**
+   * Publishes the given records. Should return once the records are visible 
+   * to the CA, or leave that to <code>acme.dns-propagation-delay</code>.
+   */
+  void createRecords (Collection<TxtRecord> aRecords) throws IOException;
+  
+  /**
+   * Removes the given records, once the challenges are over.
+   */
+  void removeRecords (Collection<TxtRecord> aRecords) throws IOException;
+  
+}
@@ -0,0 +1,135 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * A concurrent map which entries expire after a per-entry time to live.
+ * <p>
+ * Reads are lock-free: every entry carries its own deadline which is checked 
+ * when the entry is read, and an entry found to be expired is removed on 
+ * the spot. Entries which are never read again are swept by whichever 
+ * writer first crosses the sweep interval, so the cost of expiry is 
+ * amortized over the writes rather than paid on every read.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ * @param <K> the Key type
+ * @param <V> the Value type
+ */
+public class ExpiringMap<K, V> {
+
+  private static final long MAX_SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+  
+  private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  
+  /**
+   * The default time to live in milliseconds.
+   */
+  private final long defaultTimeToLive;
+  
+  private final long sweepIntervalNanos;
+  
+  private final AtomicLong nextSweep;
+  
+  public ExpiringMap (long aDefaultTimeToLive) {
+    this(aDefaultTimeToLive, Math.min(aDefaultTimeToLive, MAX_SWEEP_INTERVAL));
+  }
+  
+  /**
+   * @param aDefaultTimeToLive
+   *          the time to live (ms) of entries put without one
+   * @param aSweepInterval
+   *          the min interval (ms) between sweeps of the expired entries
+   */
+  public ExpiringMap (long aDefaultTimeToLive, long aSweepInterval) {
+    Assert.isTrue(aDefaultTimeToLive > 0, "the time to live must be positive");
+    defaultTimeToLive = aDefaultTimeToLive;
+    sweepIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, aSweepInterval));
+    nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+  }
+  
+  public V get (K aKey) {
+    Entry<V> entry = entries.get(aKey);
+    if(entry == null) {
+      return null;
+    }
+    if(entry.isExpired(System.nanoTime())) {
+      entries.remove(aKey, entry);
+      return null;
+    }
+    return entry.value;
+  }
+  
+  public boolean containsKey (K aKey) {
+    return get(aKey) != null;
+  }
+  
+  public V put (K aKey, V aValue) {
+    return put(aKey, aValue, defaultTimeToLive);
+  }
+  
+  /**
+   * Associates the value with the key for the given time to live (ms).
+   * 
+   * @return the previous value, or <code>null</code> if there was none or it expired.
+   */
+  public V put (K aKey, V aValue, long aTimeToLive) {
+    Assert.notNull(aValue, "value must not be null");
+    long now = System.nanoTime();
+    sweepIfDue(now);
+    Entry<V> previous = entries.put(aKey, new Entry<>(aValue, now + TimeUnit.MILLISECONDS.toNanos(aTimeToLive)));
+    return previous == null || previous.isExpired(now) ? null : previous.value;
+  }
+  
+  public V remove (K aKey) {
+    Entry<V> previous = entries.remove(aKey);
+    return previous == null || previous.isExpired(System.nanoTime()) ? null : previous.value;
+  }
+  
+  /**
+   * @return the number of entries, which may include expired entries 
+   * that were not yet swept.
+   */
+  public int size () {
+    sweepIfDue(System.nanoTime());
+    return entries.size();
+  }
+  
+  public void clear () {
+    entries.clear();
+  }
+  
+  private void sweepIfDue (long aNow) {
+    long next = nextSweep.get();
+    if(aNow - next >= 0 && nextSweep.compareAndSet(next, aNow + sweepIntervalNanos)) {
+      for(Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+        if(entry.getValue().isExpired(aNow)) {
+          // only removes the entry if it wasn't replaced in the meantime
+          entries.remove(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+  }
+  
+  private static class Entry<V> {
+    
+    private final V value;
+    private final long deadline;
+    
+    Entry (V aValue, long aDeadline) {
+      value = aValue;
+      deadline = aDeadline;
+    }
+    
+    boolean isExpired (long aNow) {
+      return aNow - deadline >= 0;
+    }
+    
+  }
+  
+}
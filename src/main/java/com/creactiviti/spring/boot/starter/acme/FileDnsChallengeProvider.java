@@ -0,0 +1,62 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the TXT records in a zone file fragment -- one 
+ * <code>{name}. {ttl} IN TXT "{value}"</code> line per record -- which is 
+ * rewritten atomically on every batch. Meant for testing, or for handing 
+ * the records over to external tooling (e.g. a script including the 
+ * fragment in a zone and reloading the name server).
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class FileDnsChallengeProvider extends InMemoryDnsChallengeProvider {
+
+  private static final int TTL = 60;
+  
+  private final Path file;
+  
+  public FileDnsChallengeProvider (Path aFile) {
+    file = aFile.toAbsolutePath();
+  }
+  
+  @Override
+  public synchronized void createRecords (Collection<TxtRecord> aRecords) throws IOException {
+    super.createRecords(aRecords);
+    write();
+  }
+  
+  @Override
+  public synchronized void removeRecords (Collection<TxtRecord> aRecords) throws IOException {
+    super.removeRecords(aRecords);
+    write();
+  }
+  
+  private void write () throws IOException {
+    StringBuilder zone = new StringBuilder();
+    for(Map.Entry<String, Set<String>> record : getRecords().entrySet()) {
+      for(String value : record.getValue()) {
+        zone.append(record.getKey()).append(". ").append(TTL).append(" IN TXT \"").append(value).append("\"\n");
+      }
+    }
+    Files.createDirectories(file.getParent());
+    Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+    try {
+      Files.write(temp, zone.toString().getBytes(StandardCharsets.US_ASCII));
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+  
+}
@@ -0,0 +1,163 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ChallengeStore} backed by a directory shared between the nodes 
+ * of a cluster (e.g. an NFS mount), so that any node can answer the CA's 
+ * validation request regardless of which node triggered the challenge.
+ * <p>
+ * Every challenge is a file named after its token, written atomically 
+ * through a temporary file, whose modification time is set to its expiry. 
+ * Expired challenges are swept by the writers. Hits are cached locally for 
+ * a short while to spare the shared directory from repeated reads, so a 
+ * removed challenge may still be answered by the other nodes for that long.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class FileSystemChallengeStore implements ChallengeStore {
+
+  /**
+   * Tokens are base64url encoded -- anything else is rejected so that a 
+   * token can never escape the directory.
+   */
+  private static final Pattern TOKEN = Pattern.compile("[A-Za-z0-9_-]+");
+  
+  private final Path directory;
+  
+  private final long timeToLive;
+  
+  private final ExpiringMap<String, String> cache;
+  
+  private final AtomicLong nextSweep = new AtomicLong();
+  
+  private static final Logger logger = LoggerFactory.getLogger(FileSystemChallengeStore.class);
+  
+  /**
+   * @param aDirectory
+   *          the shared directory to store the challenges in
+   * @param aTimeToLive
+   *          the time to live (ms) of a challenge
+   * @param aCacheTimeToLive
+   *          the time (ms) to locally cache a challenge for
+   */
+  public FileSystemChallengeStore (Path aDirectory, long aTimeToLive, long aCacheTimeToLive) {
+    directory = aDirectory;
+    timeToLive = aTimeToLive;
+    cache = new ExpiringMap<>(aCacheTimeToLive);
+    try {
+      Files.createDirectories(aDirectory);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  @Override
+  public String get (String aToken) {
+    if(!TOKEN.matcher(aToken).matches()) {
+      return null;
+    }
+    String authorization = cache.get(aToken);
+    if(authorization != null) {
+      return authorization;
+    }
+    Path file = directory.resolve(aToken);
+    try {
+      if(isExpired(file, System.currentTimeMillis())) {
+        Files.deleteIfExists(file);
+        return null;
+      }
+      authorization = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII);
+      cache.put(aToken, authorization);
+      return authorization;
+    }
+    catch (NoSuchFileException ex) {
+      return null;
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public void put (String aToken, String aAuthorization) {
+    put(aToken, aAuthorization, timeToLive);
+  }
+  
+  @Override
+  public void put (String aToken, String aAuthorization, long aTimeToLive) {
+    checkToken(aToken);
+    sweepIfDue();
+    try {
+      Path temp = Files.createTempFile(directory, aToken, ".tmp");
+      Files.write(temp, aAuthorization.getBytes(StandardCharsets.US_ASCII));
+      Files.setLastModifiedTime(temp, FileTime.fromMillis(System.currentTimeMillis() + aTimeToLive));
+      Files.move(temp, directory.resolve(aToken), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  @Override
+  public void remove (String aToken) {
+    checkToken(aToken);
+    cache.remove(aToken);
+    try {
+      Files.deleteIfExists(directory.resolve(aToken));
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  private static void checkToken (String aToken) {
+    if(!TOKEN.matcher(aToken).matches()) {
+      throw new IllegalArgumentException("Invalid token: " + aToken);
+    }
+  }
+  
+  private boolean isExpired (Path aFile, long aNow) throws IOException {
+    return Files.getLastModifiedTime(aFile).toMillis() <= aNow;
+  }
+  
+  private void sweepIfDue () {
+    long now = System.currentTimeMillis();
+    long next = nextSweep.get();
+    if(now < next || !nextSweep.compareAndSet(next, now + Math.min(timeToLive, TimeUnit.MINUTES.toMillis(1)))) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for(Path file : files) {
+        try {
+          if(isExpired(file, now)) {
+            Files.deleteIfExists(file);
+          }
+        }
+        catch (NoSuchFileException ex) {
+          // swept by another node
+        }
+      }
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to sweep the expired challenges in " + directory, ex);
+    }
+  }
+
+}
@@ -1,6 +1,6 @@
 package com.creactiviti.spring.boot.starter.acme;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author Arik Cohen
@@ -10,14 +10,56 @@ public class InMemoryChallengeStore implements ChallengeStore {
   
   private static final long FIFTEEN_MINS = 15 * 60 * 1000;
   
-  private Map<String, String> challenges = new SelfExpiringHashMap<>(FIFTEEN_MINS);
+  private final ExpiringMap<String, KeyAuthorization> challenges;
+  
+  public InMemoryChallengeStore () {
+    this(FIFTEEN_MINS);
+  }
+  
+  public InMemoryChallengeStore (long aTimeToLive) {
+    challenges = new ExpiringMap<>(aTimeToLive);
+  }
   
   public String get (String aToken) {
-    return challenges.get(aToken);
+    KeyAuthorization authorization = challenges.get(aToken);
+    return authorization != null ? authorization.value : null;
+  }
+  
+  @Override
+  public byte[] getEncoded (String aToken) {
+    KeyAuthorization authorization = challenges.get(aToken);
+    return authorization != null ? authorization.encoded : null;
   }
   
   public void put (String aToken, String aAuthorization) {
-    challenges.put(aToken, aAuthorization);
+    challenges.put(aToken, new KeyAuthorization(aAuthorization));
+  }
+  
+  public void put (String aToken, String aAuthorization, long aTimeToLive) {
+    challenges.put(aToken, new KeyAuthorization(aAuthorization), aTimeToLive);
+  }
+  
+  public void remove (String aToken) {
+    challenges.remove(aToken);
+  }
+  
+  public int size () {
+    return challenges.size();
+  }
+  
+  /**
+   * A key authorization along with its encoded form, encoded once when stored.
+   */
+  private static class KeyAuthorization {
+    
+    private final String value;
+    private final byte[] encoded;
+    
+    KeyAuthorization (String aValue) {
+      value = aValue;
+      encoded = aValue.getBytes(StandardCharsets.US_ASCII);
+    }
+    
   }
   
 }
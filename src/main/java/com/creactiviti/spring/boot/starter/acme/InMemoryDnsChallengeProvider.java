@@ -0,0 +1,66 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the TXT records in memory. A stand-in for a real 
+ * {@link DnsChallengeProvider}, e.g. against a test CA which resolves the 
+ * records through the application.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class InMemoryDnsChallengeProvider implements DnsChallengeProvider {
+
+  private final Map<String, Set<String>> records = new ConcurrentHashMap<>();
+  
+  @Override
+  public synchronized void createRecords (Collection<TxtRecord> aRecords) throws IOException {
+    for(TxtRecord record : aRecords) {
+      records.computeIfAbsent(record.getName(), (name) -> Collections.synchronizedSet(new LinkedHashSet<>())).add(record.getValue());
+    }
+  }
+  
+  @Override
+  public synchronized void removeRecords (Collection<TxtRecord> aRecords) throws IOException {
+    for(TxtRecord record : aRecords) {
+      Set<String> values = records.get(record.getName());
+      if(values != null) {
+        values.remove(record.getValue());
+        if(values.isEmpty()) {
+          records.remove(record.getName());
+        }
+      }
+    }
+  }
+  
+  /**
+   * @return the values of the given name, empty if there are none.
+   */
+  public Set<String> getValues (String aName) {
+    Set<String> values = records.get(aName);
+    if(values == null) {
+      return Collections.emptySet();
+    }
+    synchronized (values) {
+      return new LinkedHashSet<>(values);
+    }
+  }
+  
+  /**
+   * @return all the records, by name.
+   */
+  public Map<String, Set<String>> getRecords () {
+    Map<String, Set<String>> copy = new TreeMap<>();
+    records.keySet().forEach((name) -> copy.put(name, getValues(name)));
+    return copy;
+  }
+  
+}
@@ -0,0 +1,77 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.Date;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+/**
+ * Reports the progress of the certificate issuance through the actuator's
+ * <code>/health</code> endpoint.
+ * <p>
+ * By default the indicator is always up, with the issuance state as a detail.
+ * With <code>acme.readiness-requires-certificate</code> it is out of service
+ * until every domain has a certificate, and down if the issuance failed, so
+ * that a load balancer or orchestrator only routes HTTPS traffic once the
+ * certificate is ready.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class IssuanceHealthIndicator extends AbstractHealthIndicator {
+
+  private final IssuanceStatus status;
+
+  private final CertificateInventory inventory;
+
+  private final AcmeConfigProperties config;
+
+  public IssuanceHealthIndicator (IssuanceStatus aStatus, CertificateInventory aInventory, AcmeConfigProperties aConfig) {
+    status = aStatus;
+    inventory = aInventory;
+    config = aConfig;
+  }
+
+  @Override
+  protected void doHealthCheck (Health.Builder aBuilder) throws Exception {
+    IssuanceStatus.State state = status.getState();
+    boolean certificateReady = state == IssuanceStatus.State.SUCCEEDED || state == IssuanceStatus.State.SKIPPED || hasCertificates();
+
+    if(!config.isReadinessRequiresCertificate() || certificateReady) {
+      aBuilder.up();
+    }
+    else if (state == IssuanceStatus.State.FAILED) {
+      aBuilder.down();
+    }
+    else {
+      aBuilder.outOfService();
+    }
+
+    aBuilder.withDetail("state", state)
+            .withDetail("certificateReady", certificateReady)
+            .withDetail("domains", status.getDomains());
+    if(status.getStartTime() != null) {
+      aBuilder.withDetail("startTime", status.getStartTime());
+    }
+    if(status.getEndTime() != null) {
+      aBuilder.withDetail("endTime", status.getEndTime());
+    }
+    if(status.getError() != null) {
+      aBuilder.withDetail("error", status.getError().getClass().getName() + ": " + status.getError().getMessage());
+    }
+  }
+
+  /**
+   * Certificates issued by a previous run are good enough to serve.
+   */
+  private boolean hasCertificates () {
+    for(String domain : config.getDomains()) {
+      CertificateInfo certificate = inventory.get(domain);
+      if(certificate == null || certificate.getNotAfter().before(new Date())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,260 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the certificates to issue, and issues them on a background thread, 
+ * in the order of their expiry -- domains without a certificate first. Every 
+ * queued certificate which is within the limits is taken off the queue at 
+ * once, and handed to the {@link CertGenerator} in a single call so that 
+ * their domains are authorized concurrently.
+ * <p>
+ * A queued certificate is only issued once the {@link RateLimiter} allows
+ * it, in the meantime the certificates which are within the limits are
+ * issued instead. When <code>acme.san-batching</code> is on (and
+ * <code>acme.san-certificate</code> is off), queued domains which share a
+ * registered domain are packed into a single SAN certificate of up to
+ * <code>acme.max-san-names</code> names, which costs a single certificate
+ * out of the registered domain's weekly limit.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class IssuanceQueue implements DisposableBean {
+
+  private final CertGenerator generator;
+
+  private final AcmeConfigProperties config;
+
+  private final RateLimiter rateLimiter;
+
+  private final NavigableSet<Request> queue = new TreeSet<>(
+    Comparator.comparing((Request r) -> r.notAfter).thenComparingLong(r -> r.sequence)
+  );
+
+  /**
+   * The requests taken off the queue, until their certificate is issued or failed.
+   */
+  private final Set<Request> inFlight = new HashSet<>();
+  
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  private final Thread worker = new Thread(this::work, "acme-issuance");
+
+  private static final Logger logger = LoggerFactory.getLogger(IssuanceQueue.class);
+
+  public IssuanceQueue (CertGenerator aGenerator, AcmeConfigProperties aConfig, RateLimiter aRateLimiter) {
+    generator = aGenerator;
+    config = aConfig;
+    rateLimiter = aRateLimiter;
+    worker.setDaemon(true);
+  }
+
+  /**
+   * Queues a certificate for the given domains. If these domains are
+   * already queued or being issued, their pending requests are returned 
+   * instead.
+   *
+   * @param aDomains
+   *            The names of the domains to put on the certificate
+   * @param aNotAfter
+   *            The expiry of the current certificate, or <code>null</code> if there is none
+   * @return a future which completes once the certificate is issued
+   */
+  public CompletableFuture<Void> submit (List<String> aDomains, Instant aNotAfter) {
+    if(started.compareAndSet(false, true)) {
+      worker.start();
+    }
+    synchronized (this) {
+      CompletableFuture<Void> pending = pending(aDomains);
+      if(pending != null) {
+        return pending;
+      }
+      Request request = new Request(aDomains, aNotAfter != null ? aNotAfter : Instant.MIN, sequence.incrementAndGet());
+      queue.add(request);
+      notifyAll();
+      return request.future;
+    }
+  }
+
+  /**
+   * @return a future of the queued or in-flight requests which cover all the 
+   * domains between them, or <code>null</code> if some domain isn't covered.
+   */
+  private CompletableFuture<Void> pending (List<String> aDomains) {
+    Set<String> uncovered = new HashSet<>(aDomains);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    List<Request> pending = new ArrayList<>(inFlight);
+    pending.addAll(queue);
+    for(Request request : pending) {
+      if(uncovered.removeAll(request.domains)) {
+        futures.add(request.future);
+      }
+    }
+    if(!uncovered.isEmpty()) {
+      return null;
+    }
+    return futures.size() == 1 ? futures.get(0) : CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+  }
+
+  /**
+   * @return the number of queued certificates.
+   */
+  public synchronized int size () {
+    return queue.size();
+  }
+
+  private void work () {
+    while(!Thread.currentThread().isInterrupted()) {
+      List<List<Request>> batches;
+      try {
+        batches = next();
+      }
+      catch (InterruptedException ex) {
+        return;
+      }
+      Map<List<String>, List<Request>> byDomains = new LinkedHashMap<>();
+      for(List<Request> batch : batches) {
+        List<String> domains = new ArrayList<>();
+        batch.forEach((request) -> domains.addAll(request.domains));
+        byDomains.put(domains, batch);
+      }
+      Map<List<String>, Exception> failures;
+      try {
+        // all at once, so that their domains are authorized concurrently
+        failures = generator.generateEach(new ArrayList<>(byDomains.keySet()));
+      }
+      catch (Exception ex) {
+        failures = new HashMap<>();
+        for(List<String> domains : byDomains.keySet()) {
+          failures.put(domains, ex);
+        }
+      }
+      List<Request> limited = new ArrayList<>();
+      for(Map.Entry<List<String>, List<Request>> batch : byDomains.entrySet()) {
+        Exception failure = failures.get(batch.getKey());
+        if(failure instanceof RateLimitException) {
+          // ran into a limit along with the batches before it, back to the queue
+          limited.addAll(batch.getValue());
+        }
+        else if(failure != null) {
+          batch.getValue().forEach((request) -> request.future.completeExceptionally(failure));
+        }
+        else {
+          batch.getValue().forEach((request) -> request.future.complete(null));
+        }
+      }
+      // only once completed, so that the domains are never left uncovered
+      settle(batches, limited);
+    }
+  }
+
+  /**
+   * Waits for the most urgent batch which is within the rate limits, and 
+   * takes it off the queue along with every other batch which is within the 
+   * rate limits too.
+   */
+  private synchronized List<List<Request>> next () throws InterruptedException {
+    while(true) {
+      long wait = 0;
+      List<List<Request>> batches = new ArrayList<>();
+      for(Request head : new ArrayList<>(queue)) {
+        if(!queue.contains(head)) {
+          // packed into an earlier batch
+          continue;
+        }
+        long headWait = rateLimiter.waitTime(head.domains);
+        if(headWait > 0) {
+          wait = wait == 0 ? headWait : Math.min(wait, headWait);
+          continue;
+        }
+        List<Request> batch = batch(head);
+        queue.removeAll(batch);
+        inFlight.addAll(batch);
+        batches.add(batch);
+      }
+      if(!batches.isEmpty()) {
+        return batches;
+      }
+      if(wait > 0) {
+        logger.info("{} certificate(s) are queued, waiting {}ms for the rate limits", queue.size(), wait);
+      }
+      wait(wait);
+    }
+  }
+
+  private synchronized void settle (List<List<Request>> aBatches, List<Request> aRequeued) {
+    aBatches.forEach(inFlight::removeAll);
+    if(!aRequeued.isEmpty()) {
+      queue.addAll(aRequeued);
+      notifyAll();
+    }
+  }
+
+  /**
+   * Packs the queued requests of the head's registered domain into the head's
+   * certificate, in the order of their expiry.
+   */
+  private List<Request> batch (Request aHead) {
+    List<Request> batch = new ArrayList<>();
+    batch.add(aHead);
+    if(!config.isSanBatching() || config.isSanCertificate()) {
+      return batch;
+    }
+    int names = aHead.domains.size();
+    for(Request request : queue) {
+      if(request != aHead
+          && request.registeredDomain.equals(aHead.registeredDomain)
+          && names + request.domains.size() <= config.getMaxSanNames()
+          && rateLimiter.waitTime(request.domains) == 0) {
+        batch.add(request);
+        names += request.domains.size();
+      }
+    }
+    return batch;
+  }
+
+  @Override
+  public void destroy() {
+    worker.interrupt();
+  }
+
+  private static class Request {
+
+    final List<String> domains;
+    final String registeredDomain;
+    final Instant notAfter;
+    final long sequence;
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    Request (List<String> aDomains, Instant aNotAfter, long aSequence) {
+      domains = aDomains;
+      registeredDomain = RateLimiter.registeredDomain(aDomains.get(0));
+      notAfter = aNotAfter;
+      sequence = aSequence;
+    }
+
+  }
+
+}
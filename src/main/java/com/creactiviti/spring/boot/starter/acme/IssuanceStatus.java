@@ -0,0 +1,87 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks the progress of the issuance started by the {@link AcmeEncryptRunner}.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class IssuanceStatus {
+
+  public enum State {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    SKIPPED,
+    FAILED
+  }
+
+  private volatile State state = State.PENDING;
+  private volatile List<String> domains = Collections.emptyList();
+  private volatile Date startTime;
+  private volatile Date endTime;
+  private volatile Throwable error;
+
+  void start (List<String> aDomains) {
+    domains = Collections.unmodifiableList(aDomains);
+    startTime = new Date();
+    endTime = null;
+    error = null;
+    state = State.RUNNING;
+  }
+
+  void succeed () {
+    endTime = new Date();
+    state = State.SUCCEEDED;
+  }
+
+  /**
+   * The existing certificates are still good.
+   */
+  void skip (List<String> aDomains) {
+    domains = Collections.unmodifiableList(aDomains);
+    startTime = endTime = new Date();
+    error = null;
+    state = State.SKIPPED;
+  }
+
+  void fail (Throwable aError) {
+    error = aError;
+    endTime = new Date();
+    state = State.FAILED;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * @return the domains being issued.
+   */
+  public List<String> getDomains() {
+    return domains;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  /**
+   * @return the reason the issuance failed, or <code>null</code>.
+   */
+  public Throwable getError() {
+    return error;
+  }
+
+}
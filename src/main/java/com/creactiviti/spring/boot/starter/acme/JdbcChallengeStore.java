@@ -0,0 +1,136 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A {@link ChallengeStore} backed by a database shared between the nodes 
+ * of a cluster, so that any node can answer the CA's validation request 
+ * regardless of which node triggered the challenge.
+ * <p>
+ * Expects the <code>ACME_CHALLENGE</code> table found in 
+ * <code>classpath:acme/challenge-store-schema.sql</code>. Challenges expire 
+ * after their time to live and are swept by the writers. Batches are written 
+ * and removed with JDBC batch updates. Hits are cached locally for a short 
+ * while to spare the database from repeated queries, so a removed challenge 
+ * may still be answered by the other nodes for that long.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class JdbcChallengeStore implements ChallengeStore {
+
+  private final JdbcTemplate jdbc;
+  
+  private final TransactionTemplate transactions;
+  
+  private final long timeToLive;
+  
+  private final ExpiringMap<String, String> cache;
+  
+  private final AtomicLong nextSweep = new AtomicLong();
+  
+  /**
+   * @param aDataSource
+   *          the shared database
+   * @param aTimeToLive
+   *          the time to live (ms) of a challenge
+   * @param aCacheTimeToLive
+   *          the time (ms) to locally cache a challenge for
+   */
+  public JdbcChallengeStore (DataSource aDataSource, long aTimeToLive, long aCacheTimeToLive) {
+    jdbc = new JdbcTemplate(aDataSource);
+    transactions = new TransactionTemplate(new DataSourceTransactionManager(aDataSource));
+    timeToLive = aTimeToLive;
+    cache = new ExpiringMap<>(aCacheTimeToLive);
+  }
+  
+  @Override
+  public String get (String aToken) {
+    String authorization = cache.get(aToken);
+    if(authorization != null) {
+      return authorization;
+    }
+    List<String> authorizations = jdbc.queryForList("select key_authorization from acme_challenge where token = ? and expires_at > ?", String.class, aToken, System.currentTimeMillis());
+    if(authorizations.isEmpty()) {
+      return null;
+    }
+    authorization = authorizations.get(0);
+    cache.put(aToken, authorization);
+    return authorization;
+  }
+
+  @Override
+  public void put (String aToken, String aAuthorization) {
+    put(aToken, aAuthorization, timeToLive);
+  }
+  
+  @Override
+  public void put (String aToken, String aAuthorization, long aTimeToLive) {
+    long now = System.currentTimeMillis();
+    sweepIfDue(now);
+    long expiresAt = now + aTimeToLive;
+    if(jdbc.update("update acme_challenge set key_authorization = ?, expires_at = ? where token = ?", aAuthorization, expiresAt, aToken) == 0) {
+      jdbc.update("insert into acme_challenge (token, key_authorization, expires_at) values (?, ?, ?)", aToken, aAuthorization, expiresAt);
+    }
+  }
+  
+  /**
+   * Replaces the batch in two round trips: a batch delete of the tokens, 
+   * followed by a batch insert, in a single transaction so that the tokens 
+   * are never missing in between, nor lost if the insert fails.
+   */
+  @Override
+  public void putAll (Map<String, String> aAuthorizations, long aTimeToLive) {
+    if(aAuthorizations.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    sweepIfDue(now);
+    long expiresAt = now + aTimeToLive;
+    List<Object[]> tokens = new ArrayList<>();
+    List<Object[]> rows = new ArrayList<>();
+    aAuthorizations.forEach((token, authorization) -> {
+      tokens.add(new Object[] {token});
+      rows.add(new Object[] {token, authorization, expiresAt});
+    });
+    transactions.execute((status) -> {
+      jdbc.batchUpdate("delete from acme_challenge where token = ?", tokens);
+      return jdbc.batchUpdate("insert into acme_challenge (token, key_authorization, expires_at) values (?, ?, ?)", rows);
+    });
+  }
+  
+  @Override
+  public void remove (String aToken) {
+    cache.remove(aToken);
+    jdbc.update("delete from acme_challenge where token = ?", aToken);
+  }
+  
+  @Override
+  public void removeAll (Collection<String> aTokens) {
+    if(aTokens.isEmpty()) {
+      return;
+    }
+    aTokens.forEach(cache::remove);
+    jdbc.batchUpdate("delete from acme_challenge where token = ?", aTokens.stream().map((token) -> new Object[] {token}).collect(Collectors.toList()));
+  }
+  
+  private void sweepIfDue (long aNow) {
+    long next = nextSweep.get();
+    if(aNow >= next && nextSweep.compareAndSet(next, aNow + Math.min(timeToLive, TimeUnit.MINUTES.toMillis(1)))) {
+      jdbc.update("delete from acme_challenge where expires_at <= ?", aNow);
+    }
+  }
+
+}
@@ -0,0 +1,35 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.security.KeyPair;
+
+import org.shredzone.acme4j.util.KeyPairUtils;
+
+/**
+ * The supported domain key algorithms.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public enum KeyAlgorithm {
+  
+  RSA_2048,
+  RSA_3072,
+  RSA_4096,
+  EC_P256,
+  EC_P384;
+  
+  /**
+   * Generates a new key pair using this algorithm.
+   */
+  public KeyPair generate () {
+    switch (this) {
+      case RSA_2048: return KeyPairUtils.createKeyPair(2048);
+      case RSA_3072: return KeyPairUtils.createKeyPair(3072);
+      case RSA_4096: return KeyPairUtils.createKeyPair(4096);
+      case EC_P256:  return KeyPairUtils.createECKeyPair("secp256r1");
+      case EC_P384:  return KeyPairUtils.createECKeyPair("secp384r1");
+      default: throw new IllegalStateException("Unknown key algorithm: " + this);
+    }
+  }
+  
+}
@@ -0,0 +1,170 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.shredzone.acme4j.util.KeyPairUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads and creates the user and domain key pairs.
+ * <p>
+ * Key pairs are parsed once and kept in memory for as long as their file 
+ * is left unchanged. Domain key pairs are generated using 
+ * <code>acme.domain-key-algorithm</code>. When <code>acme.key-pool-size</code> 
+ * is positive, that many domain key pairs are generated ahead of time on a 
+ * background thread, so issuance doesn't wait for the (RSA) key generation.  
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class KeyPairProvider implements DisposableBean {
+  
+  private static final int USER_KEY_SIZE = 2048;
+  
+  private final AcmeConfigProperties config;
+  
+  private final Map<File, CachedKeyPair> cache = new ConcurrentHashMap<>();
+  
+  private final BlockingQueue<KeyPair> pool = new LinkedBlockingQueue<>();
+  
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  
+  private final ExecutorService refiller = Executors.newSingleThreadExecutor((runnable) -> {
+    Thread thread = new Thread(runnable, "acme-key-pool");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    return thread;
+  });
+  
+  private static final Logger logger = LoggerFactory.getLogger(KeyPairProvider.class);
+  
+  public KeyPairProvider (AcmeConfigProperties aConfig) {
+    config = aConfig;
+    // EC keys are generated by BouncyCastle, possibly before the runner registers it 
+    Security.addProvider(new BouncyCastleProvider());
+    refill();
+  }
+  
+  /**
+   * Loads the user key pair from the given file. If the file does not exist,
+   * a new key pair is generated and saved.
+   */
+  public KeyPair loadOrCreateUserKeyPair (File aFile) throws IOException {
+    File file = aFile.getAbsoluteFile();
+    
+    KeyPair existing = load(file);
+    if(existing != null) {
+      return existing;
+    }
+    
+    KeyPair keyPair = KeyPairUtils.createKeyPair(USER_KEY_SIZE);
+    Path target = file.toPath();
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.US_ASCII)) {
+      KeyPairUtils.writeKeyPair(keyPair, writer);
+    }
+    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    cache.put(file, new CachedKeyPair(keyPair, file.lastModified()));
+    return keyPair;
+  }
+  
+  /**
+   * Loads a domain key pair from the given file.
+   * 
+   * @return the key pair, or <code>null</code> if the file does not exist.
+   */
+  public KeyPair loadDomainKeyPair (File aFile) throws IOException {
+    return load(aFile.getAbsoluteFile());
+  }
+  
+  /**
+   * Takes a new domain key pair from the pool (or generates one), leaving it 
+   * to the caller to save it.
+   */
+  public KeyPair createDomainKeyPair () {
+    return nextDomainKeyPair();
+  }
+  
+  private KeyPair load (File aFile) throws IOException {
+    if (!aFile.exists()) {
+      return null;
+    }
+    long lastModified = aFile.lastModified();
+    CachedKeyPair cached = cache.get(aFile);
+    if(cached != null && cached.lastModified == lastModified) {
+      return cached.keyPair;
+    }
+    try (FileReader fr = new FileReader(aFile)) {
+      KeyPair keyPair = KeyPairUtils.readKeyPair(fr);
+      cache.put(aFile, new CachedKeyPair(keyPair, lastModified));
+      return keyPair;
+    }
+  }
+  
+  private KeyPair nextDomainKeyPair () {
+    KeyPair keyPair = pool.poll();
+    refill();
+    if(keyPair != null) {
+      return keyPair;
+    }
+    return config.getDomainKeyAlgorithm().generate();
+  }
+  
+  private void refill () {
+    if(config.getKeyPoolSize() <= 0 || !refilling.compareAndSet(false, true)) {
+      return;
+    }
+    refiller.execute(() -> {
+      try {
+        while(pool.size() < config.getKeyPoolSize()) {
+          pool.offer(config.getDomainKeyAlgorithm().generate());
+        }
+      }
+      catch (RuntimeException ex) {
+        logger.error("Failed to fill the key pool", ex);
+      }
+      finally {
+        refilling.set(false);
+      }
+    });
+  }
+  
+  @Override
+  public void destroy () {
+    refiller.shutdownNow();
+  }
+  
+  private static class CachedKeyPair {
+    
+    private final KeyPair keyPair;
+    private final long lastModified;
+    
+    CachedKeyPair (KeyPair aKeyPair, long aLastModified) {
+      keyPair = aKeyPair;
+      lastModified = aLastModified;
+    }
+    
+  }
+
+}
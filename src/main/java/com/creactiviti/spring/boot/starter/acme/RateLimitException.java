@@ -0,0 +1,31 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.shredzone.acme4j.exception.AcmeException;
+
+/**
+ * Thrown instead of requesting a certificate which would exceed one of
+ * the CA's rate limits, as tracked by the {@link RateLimiter}.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class RateLimitException extends AcmeException {
+
+  private final Instant retryAfter;
+
+  public RateLimitException (List<String> aDomains, Instant aRetryAfter) {
+    super("Rate limited, a certificate for " + aDomains + " can be requested after " + aRetryAfter);
+    retryAfter = aRetryAfter;
+  }
+
+  /**
+   * @return when the certificate can be requested.
+   */
+  public Instant getRetryAfter() {
+    return retryAfter;
+  }
+
+}
@@ -0,0 +1,244 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the issuance within the CA's rate limits, using a {@link TokenBucket} for:
+ * <ul>
+ * <li>certificates per registered domain (<code>acme.certificates-per-registered-domain</code> per week)</li>
+ * <li>certificate requests per account (<code>acme.orders-per-account</code> per 3 hours)</li>
+ * <li>failed validations per host name (<code>acme.failed-validations-per-hostname</code> per hour)</li>
+ * </ul>
+ * The buckets are persisted to <code>acme.rate-limit-file</code> -- by default
+ * <code>rate-limits.properties</code> next to the user key file -- so that restarts
+ * don't reset them.
+ * <p>
+ * The registered domain of a host name is approximated by its last two labels,
+ * which errs on the side of caution for names under public suffixes such as
+ * <code>co.uk</code>.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+public class RateLimiter {
+
+  private static final String ACCOUNT = "account";
+  private static final String DOMAIN = "domain.";
+  private static final String VALIDATION = "validation.";
+
+  private static final String TOKENS = ".tokens";
+  private static final String UPDATED = ".updated";
+
+  private static final long WEEK = TimeUnit.DAYS.toMillis(7);
+  private static final long THREE_HOURS = TimeUnit.HOURS.toMillis(3);
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+  private final AcmeConfigProperties config;
+
+  private final File file;
+
+  private final Clock clock;
+
+  private final Map<String, TokenBucket> buckets = new HashMap<>();
+
+  private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+  @Autowired
+  public RateLimiter (AcmeConfigProperties aConfig) {
+    this(aConfig, Clock.systemUTC());
+  }
+
+  /**
+   * @param aClock
+   *          the clock the buckets refill by
+   */
+  RateLimiter (AcmeConfigProperties aConfig, Clock aClock) {
+    config = aConfig;
+    clock = aClock;
+    file = rateLimitFile(aConfig);
+    load();
+  }
+
+  /**
+   * @return the time (ms) until a certificate can be requested for the given
+   * domains, <code>0</code> if it can be requested now.
+   */
+  public synchronized long waitTime (Collection<String> aDomains) {
+    if(!config.isRateLimitsEnabled()) {
+      return 0;
+    }
+    long now = clock.millis();
+    long wait = bucket(ACCOUNT).waitTime(1, now);
+    for(String registeredDomain : registeredDomains(aDomains)) {
+      wait = Math.max(wait, bucket(DOMAIN + registeredDomain).waitTime(1, now));
+    }
+    for(String domain : aDomains) {
+      wait = Math.max(wait, bucket(VALIDATION + normalize(domain)).waitTime(1, now));
+    }
+    return wait;
+  }
+
+  /**
+   * Takes the tokens for a certificate request for the given domains, unless
+   * one of the limits has been reached.
+   *
+   * @return the time (ms) until the request can be made, <code>0</code> if the
+   * tokens were taken.
+   */
+  public synchronized long acquire (Collection<String> aDomains) {
+    long wait = waitTime(aDomains);
+    if(wait > 0 || !config.isRateLimitsEnabled()) {
+      return wait;
+    }
+    long now = clock.millis();
+    bucket(ACCOUNT).take(1, now);
+    for(String registeredDomain : registeredDomains(aDomains)) {
+      bucket(DOMAIN + registeredDomain).take(1, now);
+    }
+    save();
+    return 0;
+  }
+
+  /**
+   * Counts a failed validation of the given domain.
+   */
+  public synchronized void recordFailedValidation (String aDomain) {
+    if(!config.isRateLimitsEnabled()) {
+      return;
+    }
+    bucket(VALIDATION + normalize(aDomain)).take(1, clock.millis());
+    save();
+  }
+
+  /**
+   * @return the registered domain of the given host name, approximated by its last two labels.
+   */
+  public static String registeredDomain (String aDomain) {
+    String domain = normalize(aDomain);
+    int last = domain.lastIndexOf('.');
+    int secondToLast = last > 0 ? domain.lastIndexOf('.', last - 1) : -1;
+    return secondToLast >= 0 ? domain.substring(secondToLast + 1) : domain;
+  }
+
+  private static Set<String> registeredDomains (Collection<String> aDomains) {
+    Set<String> registeredDomains = new LinkedHashSet<>();
+    for(String domain : aDomains) {
+      registeredDomains.add(registeredDomain(domain));
+    }
+    return registeredDomains;
+  }
+
+  private static String normalize (String aDomain) {
+    String domain = aDomain.toLowerCase(Locale.ROOT);
+    return domain.startsWith("*.") ? domain.substring(2) : domain;
+  }
+
+  private TokenBucket bucket (String aKey) {
+    return buckets.computeIfAbsent(aKey, (key) -> new TokenBucket(capacity(key), period(key), capacity(key), clock.millis()));
+  }
+
+  private int capacity (String aKey) {
+    if(aKey.startsWith(DOMAIN)) {
+      return config.getCertificatesPerRegisteredDomain();
+    }
+    if(aKey.startsWith(VALIDATION)) {
+      return config.getFailedValidationsPerHostname();
+    }
+    return config.getOrdersPerAccount();
+  }
+
+  private long period (String aKey) {
+    if(aKey.startsWith(DOMAIN)) {
+      return WEEK;
+    }
+    if(aKey.startsWith(VALIDATION)) {
+      return HOUR;
+    }
+    return THREE_HOURS;
+  }
+
+  private void load () {
+    if(!file.exists()) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = new FileReader(file)) {
+      properties.load(reader);
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to read the rate limits " + file, ex);
+      return;
+    }
+    for(String name : properties.stringPropertyNames()) {
+      if(name.endsWith(TOKENS)) {
+        String key = name.substring(0, name.length() - TOKENS.length());
+        String updated = properties.getProperty(key + UPDATED);
+        if(updated != null) {
+          buckets.put(key, new TokenBucket(capacity(key), period(key), Double.parseDouble(properties.getProperty(name)), Long.parseLong(updated)));
+        }
+      }
+    }
+  }
+
+  private void save () {
+    long now = clock.millis();
+    Properties properties = new Properties();
+    for(Iterator<Map.Entry<String, TokenBucket>> it = buckets.entrySet().iterator(); it.hasNext();) {
+      Map.Entry<String, TokenBucket> bucket = it.next();
+      // a full bucket is as good as a new one
+      if(bucket.getValue().isFull(now)) {
+        it.remove();
+        continue;
+      }
+      properties.setProperty(bucket.getKey() + TOKENS, Double.toString(bucket.getValue().getTokens()));
+      properties.setProperty(bucket.getKey() + UPDATED, Long.toString(bucket.getValue().getUpdated()));
+    }
+    try {
+      Path target = file.getAbsoluteFile().toPath();
+      Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+        properties.store(writer, "ACME rate limits");
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    catch (IOException ex) {
+      logger.warn("Failed to persist the rate limits " + file, ex);
+    }
+  }
+
+  /**
+   * The buckets are persisted to <code>acme.rate-limit-file</code> or, by
+   * default, next to the user key file.
+   */
+  private static File rateLimitFile (AcmeConfigProperties aConfig) {
+    if(aConfig.getRateLimitFile() != null) {
+      return new File(aConfig.getRateLimitFile());
+    }
+    return new File(new File(aConfig.getUserKeyFile()).getAbsoluteFile().getParentFile(), "rate-limits.properties");
+  }
+
+}
@@ -0,0 +1,183 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renews certificates in the background as they approach their expiry.
+ * <p>
+ * A renewal is scheduled <code>acme.renew-before-days</code> before the 
+ * certificate's notAfter date, minus a random jitter of up to 
+ * <code>acme.renewal-jitter</code> so that a fleet of instances doesn't hit the 
+ * CA at the same moment. Renewals go through the {@link IssuanceQueue}, and 
+ * failed renewals are retried with a capped exponential backoff, as are the 
+ * failed issuances {@link #retry(List, Instant, Throwable) handed over} by 
+ * the {@link AcmeEncryptRunner}. 
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+@ConditionalOnProperty(name="acme.renewal-enabled",havingValue="true",matchIfMissing=true)
+public class RenewalScheduler implements DisposableBean {
+  
+  private final IssuanceQueue queue;
+  
+  private final AcmeConfigProperties config;
+  
+  private final CertificateInventory inventory;
+  
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+    Thread thread = new Thread(runnable, "acme-renewal");
+    thread.setDaemon(true);
+    return thread;
+  });
+  
+  private final Map<List<String>, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+  
+  private final Map<List<String>, Integer> failures = new ConcurrentHashMap<>();
+  
+  private final Map<List<String>, CompletableFuture<Void>> recoveries = new ConcurrentHashMap<>();
+  
+  private static final Logger logger = LoggerFactory.getLogger(RenewalScheduler.class);
+  
+  public RenewalScheduler (IssuanceQueue aQueue, AcmeConfigProperties aConfig, CertificateInventory aInventory) {
+    queue = aQueue;
+    config = aConfig;
+    inventory = aInventory;
+  }
+  
+  /**
+   * Schedules the renewal of the certificates already in the inventory.
+   */
+  @EventListener
+  public void onApplicationReady (ApplicationReadyEvent aEvent) {
+    List<String> domains = config.getDomains();
+    if(config.isSanCertificate()) {
+      schedule(domains, inventory.get(domains.get(0)));
+    }
+    else {
+      // domains which were batched into a single certificate are renewed together
+      Map<CertificateInfo, List<String>> byCertificate = new LinkedHashMap<>();
+      for(String domain : domains) {
+        CertificateInfo certificate = inventory.get(domain);
+        if(certificate != null) {
+          byCertificate.computeIfAbsent(certificate, (c) -> new ArrayList<>()).add(domain);
+        }
+      }
+      byCertificate.forEach((certificate, certificateDomains) -> schedule(certificateDomains, certificate));
+    }
+  }
+  
+  @EventListener
+  public void onCertificateIssued (CertificateIssuedEvent aEvent) {
+    schedule(aEvent.getDomains(), aEvent.getCertificateChain()[0].getNotAfter().toInstant());
+    recoveries.entrySet().removeIf((recovery) -> {
+      if(!aEvent.getDomains().containsAll(recovery.getKey())) {
+        return false;
+      }
+      recovery.getValue().complete(null);
+      return true;
+    });
+  }
+  
+  /**
+   * Retries a failed issuance of the given domains in the background, with 
+   * the same backoff as a failed renewal.
+   * 
+   * @param aDomains
+   *            The names of the domains to put on the certificate
+   * @param aNotAfter
+   *            The expiry of the current certificate, or <code>null</code> if there is none
+   * @param aError
+   *            The reason the issuance failed
+   * @return a future which completes once a certificate covering the domains is issued
+   */
+  public CompletableFuture<Void> retry (List<String> aDomains, Instant aNotAfter, Throwable aError) {
+    CompletableFuture<Void> recovery = recoveries.computeIfAbsent(aDomains, (domains) -> new CompletableFuture<>());
+    logger.info("Retrying the issuance of the certificate for {} in {}ms", aDomains, retryLater(aDomains, aNotAfter, aError));
+    return recovery;
+  }
+  
+  private void schedule (List<String> aDomains, CertificateInfo aCertificate) {
+    if(aCertificate != null) {
+      schedule(aDomains, aCertificate.getNotAfter().toInstant());
+    }
+  }
+  
+  private void schedule (List<String> aDomains, Instant aNotAfter) {
+    long jitter = config.getRenewalJitter() > 0 ? ThreadLocalRandom.current().nextLong(config.getRenewalJitter()) : 0;
+    Instant renewAt = aNotAfter.minus(Duration.ofDays(config.getRenewBeforeDays())).minusMillis(jitter);
+    logger.info("The certificate for {} expires at {}, scheduling its renewal at {}", aDomains, aNotAfter, renewAt);
+    schedule(aDomains, aNotAfter, Math.max(0, Duration.between(Instant.now(), renewAt).toMillis()));
+  }
+  
+  private void schedule (List<String> aDomains, Instant aNotAfter, long aDelay) {
+    ScheduledFuture<?> previous = renewals.put(aDomains, scheduler.schedule(() -> renew(aDomains, aNotAfter), aDelay, TimeUnit.MILLISECONDS));
+    if(previous != null) {
+      previous.cancel(false);
+    }
+  }
+  
+  private void renew (List<String> aDomains, Instant aNotAfter) {
+    logger.info("Renewing the certificate for {}", aDomains);
+    // reschedules itself through the CertificateIssuedEvent
+    queue.submit(aDomains, aNotAfter).whenComplete((nothing, error) -> {
+      if(error == null) {
+        failures.remove(aDomains);
+        return;
+      }
+      long delay = retryLater(aDomains, aNotAfter, error);
+      logger.error("Failed to renew the certificate for " + aDomains + ", retrying in " + delay + "ms", error);
+    });
+  }
+  
+  /**
+   * @return the delay (ms) the retry is scheduled in
+   */
+  private long retryLater (List<String> aDomains, Instant aNotAfter, Throwable aError) {
+    Throwable cause = aError instanceof CompletionException && aError.getCause() != null ? aError.getCause() : aError;
+    int attempt = failures.merge(aDomains, 1, Integer::sum);
+    long delay = backoff(attempt);
+    if(cause instanceof RateLimitException) {
+      delay = Math.max(delay, Duration.between(Instant.now(), ((RateLimitException)cause).getRetryAfter()).toMillis());
+    }
+    schedule(aDomains, aNotAfter, delay);
+    return delay;
+  }
+  
+  /**
+   * Exponential backoff with "equal jitter", capped at <code>acme.renewal-retry-max-delay</code>.
+   */
+  private long backoff (int aAttempt) {
+    long delay = Math.min(config.getRenewalRetryMaxDelay(), config.getRenewalRetryInitialDelay() << Math.min(aAttempt - 1, 20));
+    long half = delay / 2;
+    return half + ThreadLocalRandom.current().nextLong(half + 1);
+  }
+  
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+  
+}
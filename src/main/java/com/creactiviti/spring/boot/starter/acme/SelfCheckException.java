@@ -0,0 +1,18 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import org.shredzone.acme4j.exception.AcmeException;
+
+/**
+ * Thrown when the self-check finds that the CA wouldn't be able to validate 
+ * a domain's challenge, before the challenge is triggered.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class SelfCheckException extends AcmeException {
+
+  public SelfCheckException (String aDomain, String aReason) {
+    super("Self-check of " + aDomain + " failed, not triggering its challenge: " + aReason);
+  }
+
+}
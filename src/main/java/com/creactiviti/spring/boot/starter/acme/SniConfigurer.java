@@ -0,0 +1,221 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11JsseProtocol;
+import org.apache.tomcat.util.net.SSLHostConfigCertificate;
+import org.apache.tomcat.util.net.SSLUtil;
+import org.apache.tomcat.util.net.jsse.JSSEImplementation;
+import org.apache.tomcat.util.net.jsse.JSSEUtil;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerInitializedEvent;
+import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.undertow.UndertowEmbeddedServletContainer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.undertow.Undertow;
+
+/**
+ * Has the SSL connectors of the embedded servlet container serve every
+ * issued certificate through a single {@link SniKeyManager}, instead of
+ * the one certificate of <code>server.ssl.key-store</code>. Certificates
+ * issued while running are added to the key manager as they come, so
+ * adding a domain needs neither a new keystore nor a restart.
+ * <p>
+ * The server must still be configured with an SSL connector
+ * (<code>server.ssl.*</code>), only its key material is replaced.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(name="acme.sni-enabled",havingValue="true")
+public class SniConfigurer implements EmbeddedServletContainerCustomizer {
+
+  private static final ClassLoader CLASS_LOADER = SniConfigurer.class.getClassLoader();
+
+  private static final boolean TOMCAT_PRESENT = ClassUtils.isPresent("org.apache.catalina.startup.Tomcat", CLASS_LOADER);
+  private static final boolean JETTY_PRESENT = ClassUtils.isPresent("org.eclipse.jetty.server.Server", CLASS_LOADER);
+  private static final boolean UNDERTOW_PRESENT = ClassUtils.isPresent("io.undertow.Undertow", CLASS_LOADER);
+
+  private final AcmeConfigProperties config;
+
+  private final SniKeyManager keyManager;
+
+  private static final Logger logger = LoggerFactory.getLogger(SniConfigurer.class);
+
+  public SniConfigurer (AcmeConfigProperties aConfig) {
+    config = aConfig;
+    List<String> domains = aConfig.getDomains();
+    keyManager = new SniKeyManager(domains.isEmpty() ? null : domains.get(0));
+  }
+
+  /**
+   * Adds the certificates already on disk.
+   */
+  @PostConstruct
+  public void load () {
+    if(config.isSanCertificate()) {
+      load(config.resolve(null, config.getKeyStoreFile()));
+    }
+    else {
+      for(String domain : config.getDomains()) {
+        load(config.resolve(domain, config.getKeyStoreFile()));
+      }
+    }
+    logger.info("Serving certificates for {} host(s) by SNI", keyManager.size());
+  }
+
+  private void load (File aKeyStoreFile) {
+    if(!aKeyStoreFile.exists()) {
+      return;
+    }
+    char[] password = config.getKeyStorePassword().toCharArray();
+    try (InputStream in = new FileInputStream(aKeyStoreFile)) {
+      KeyStore keyStore = KeyStore.getInstance("PKCS12");
+      keyStore.load(in, password);
+      keyManager.addAll(keyStore, password);
+    }
+    catch (Exception ex) {
+      logger.error("Failed to read the keystore " + aKeyStoreFile, ex);
+    }
+  }
+
+  @EventListener
+  public void onCertificateIssued (CertificateIssuedEvent aEvent) throws Exception {
+    keyManager.add(aEvent.getKeyPair().getPrivate(), aEvent.getCertificateChain());
+    logger.info("Serving the certificate for {} by SNI", aEvent.getDomains());
+  }
+
+  public SniKeyManager getKeyManager() {
+    return keyManager;
+  }
+
+  @Override
+  public void customize (ConfigurableEmbeddedServletContainer aContainer) {
+    if(TOMCAT_PRESENT) {
+      TomcatSniImplementation.customize(aContainer, keyManager);
+    }
+    if(JETTY_PRESENT) {
+      JettySni.customize(aContainer, this::createSslContext);
+    }
+  }
+
+  @EventListener
+  public void onContainerInitialized (EmbeddedServletContainerInitializedEvent aEvent) {
+    // Undertow's listeners are only reachable once started, swap their context in place
+    if(UNDERTOW_PRESENT) {
+      UndertowSni.install(aEvent.getEmbeddedServletContainer(), createSslContext());
+    }
+  }
+
+  private SSLContext createSslContext () {
+    try {
+      SSLContext sslContext = SSLContext.getInstance("TLS");
+      sslContext.init(new KeyManager[] {keyManager}, null, null);
+      return sslContext;
+    }
+    catch (Exception ex) {
+      throw new IllegalStateException("Failed to create the SNI SSL context", ex);
+    }
+  }
+
+  /**
+   * Tomcat creates its SSL implementation by class name, so the key manager
+   * is handed over through a static field.
+   */
+  public static class TomcatSniImplementation extends JSSEImplementation {
+
+    static volatile SniKeyManager keyManager;
+
+    static void customize (ConfigurableEmbeddedServletContainer aContainer, SniKeyManager aKeyManager) {
+      if(aContainer instanceof TomcatEmbeddedServletContainerFactory) {
+        keyManager = aKeyManager;
+        ((TomcatEmbeddedServletContainerFactory)aContainer).addConnectorCustomizers(TomcatSniImplementation::install);
+      }
+    }
+
+    static void install (Connector aConnector) {
+      if(aConnector.getProtocolHandler() instanceof AbstractHttp11JsseProtocol) {
+        AbstractHttp11JsseProtocol<?> protocol = (AbstractHttp11JsseProtocol<?>) aConnector.getProtocolHandler();
+        if(protocol.isSSLEnabled()) {
+          protocol.setSslImplementationName(TomcatSniImplementation.class.getName());
+        }
+      }
+    }
+
+    @Override
+    public SSLUtil getSSLUtil (SSLHostConfigCertificate aCertificate) {
+      return new JSSEUtil(aCertificate) {
+        @Override
+        public KeyManager[] getKeyManagers() throws Exception {
+          return new KeyManager[] {keyManager};
+        }
+      };
+    }
+
+  }
+
+  private static class JettySni {
+
+    static void customize (ConfigurableEmbeddedServletContainer aContainer, Supplier<SSLContext> aSslContext) {
+      if(aContainer instanceof JettyEmbeddedServletContainerFactory) {
+        ((JettyEmbeddedServletContainerFactory)aContainer).addServerCustomizers((server) -> install(server, aSslContext.get()));
+      }
+    }
+
+    static void install (org.eclipse.jetty.server.Server aServer, SSLContext aSslContext) {
+      for(org.eclipse.jetty.server.Connector connector : aServer.getConnectors()) {
+        SslConnectionFactory sslConnectionFactory = connector.getConnectionFactory(SslConnectionFactory.class);
+        if(sslConnectionFactory != null) {
+          // used as is, instead of the one built from the keystore
+          sslConnectionFactory.getSslContextFactory().setSslContext(aSslContext);
+        }
+      }
+    }
+
+  }
+
+  private static class UndertowSni {
+
+    static void install (EmbeddedServletContainer aContainer, SSLContext aSslContext) {
+      if(!(aContainer instanceof UndertowEmbeddedServletContainer)) {
+        return;
+      }
+      // the Undertow instance isn't exposed by the container
+      Undertow undertow = (Undertow) new DirectFieldAccessor(aContainer).getPropertyValue("undertow");
+      if(undertow == null) {
+        return;
+      }
+      for(Undertow.ListenerInfo listener : undertow.getListenerInfo()) {
+        if("https".equals(listener.getProtcol())) {
+          listener.setSslContext(aSslContext);
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,201 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.net.Socket;
+import java.security.KeyStore;
+import java.security.Principal;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.net.ssl.ExtendedSSLSession;
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SNIServerName;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.StandardConstants;
+import javax.net.ssl.X509ExtendedKeyManager;
+
+/**
+ * A key manager which serves any number of certificates from a single SSL
+ * connector, choosing the certificate by the host name the client asked
+ * for (SNI). Choosing a certificate is a hash lookup (or two, for wildcards),
+ * so the handshake cost doesn't grow with the number of domains.
+ * <p>
+ * Each certificate is kept under an alias of its own, so a handshake which
+ * races with a renewal still gets a matching key and chain. Clients which
+ * don't send SNI, or ask for an unknown host, get the default certificate.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class SniKeyManager extends X509ExtendedKeyManager {
+
+  private final Map<String, KeyMaterial> byHost = new ConcurrentHashMap<>();
+  private final Map<String, KeyMaterial> byAlias = new ConcurrentHashMap<>();
+
+  private final String defaultHost;
+
+  private volatile KeyMaterial fallback;
+
+  /**
+   * @param aDefaultHost the host whose certificate is served to clients which
+   * don't send SNI, or <code>null</code> for the first certificate added.
+   */
+  public SniKeyManager (String aDefaultHost) {
+    defaultHost = aDefaultHost != null ? normalize(aDefaultHost) : null;
+  }
+
+  /**
+   * Adds the key entries of the given keystore.
+   */
+  public void addAll (KeyStore aKeyStore, char[] aPassword) throws Exception {
+    for(String alias : Collections.list(aKeyStore.aliases())) {
+      if(aKeyStore.isKeyEntry(alias)) {
+        Certificate[] chain = aKeyStore.getCertificateChain(alias);
+        add((PrivateKey) aKeyStore.getKey(alias, aPassword), Arrays.copyOf(chain, chain.length, X509Certificate[].class));
+      }
+    }
+  }
+
+  /**
+   * Serves the given certificate for every DNS name it was issued for,
+   * replacing their previous certificate.
+   *
+   * @param aPrivateKey the certificate's private key.
+   * @param aCertificateChain the certificate followed by its issuers.
+   */
+  public synchronized void add (PrivateKey aPrivateKey, X509Certificate[] aCertificateChain) throws Exception {
+    List<String> domains = new CertificateInfo(aCertificateChain[0]).getDomains();
+    if(domains.isEmpty()) {
+      throw new IllegalArgumentException("The certificate has no DNS names: " + aCertificateChain[0].getSubjectX500Principal());
+    }
+    String alias = normalize(domains.get(0)) + "#" + aCertificateChain[0].getSerialNumber().toString(16);
+    KeyMaterial material = new KeyMaterial(alias, aPrivateKey, aCertificateChain);
+    byAlias.put(alias, material);
+    for(String domain : domains) {
+      KeyMaterial previous = byHost.put(normalize(domain), material);
+      if(previous != null && !byHost.containsValue(previous)) {
+        byAlias.remove(previous.alias);
+      }
+    }
+    if(fallback == null || (defaultHost != null && domains.stream().map(SniKeyManager::normalize).anyMatch(defaultHost::equals))) {
+      fallback = material;
+    }
+  }
+
+  /**
+   * @return the number of host names served.
+   */
+  public int size () {
+    return byHost.size();
+  }
+
+  @Override
+  public String chooseEngineServerAlias (String aKeyType, Principal[] aIssuers, SSLEngine aEngine) {
+    return chooseServerAlias(aKeyType, aEngine != null ? aEngine.getHandshakeSession() : null);
+  }
+
+  @Override
+  public String chooseServerAlias (String aKeyType, Principal[] aIssuers, Socket aSocket) {
+    return chooseServerAlias(aKeyType, aSocket instanceof SSLSocket ? ((SSLSocket)aSocket).getHandshakeSession() : null);
+  }
+
+  private String chooseServerAlias (String aKeyType, SSLSession aHandshakeSession) {
+    KeyMaterial material = lookup(requestedHost(aHandshakeSession));
+    if(material == null) {
+      material = fallback;
+    }
+    // JSSE asks once per key type it can use, so only answer for the one that fits the key
+    return material != null && material.matches(aKeyType) ? material.alias : null;
+  }
+
+  private static String requestedHost (SSLSession aHandshakeSession) {
+    if(aHandshakeSession instanceof ExtendedSSLSession) {
+      for(SNIServerName name : ((ExtendedSSLSession)aHandshakeSession).getRequestedServerNames()) {
+        if(name.getType() == StandardConstants.SNI_HOST_NAME) {
+          return normalize(((SNIHostName)name).getAsciiName());
+        }
+      }
+    }
+    return null;
+  }
+
+  private KeyMaterial lookup (String aHost) {
+    if(aHost == null) {
+      return null;
+    }
+    KeyMaterial material = byHost.get(aHost);
+    if(material == null) {
+      int dot = aHost.indexOf('.');
+      if(dot > 0) {
+        material = byHost.get("*" + aHost.substring(dot));
+      }
+    }
+    return material;
+  }
+
+  @Override
+  public String[] getServerAliases (String aKeyType, Principal[] aIssuers) {
+    return byAlias.values().stream().filter(m -> m.matches(aKeyType)).map(m -> m.alias).toArray(String[]::new);
+  }
+
+  @Override
+  public X509Certificate[] getCertificateChain (String aAlias) {
+    KeyMaterial material = byAlias.get(aAlias);
+    return material != null ? material.certificateChain.clone() : null;
+  }
+
+  @Override
+  public PrivateKey getPrivateKey (String aAlias) {
+    KeyMaterial material = byAlias.get(aAlias);
+    return material != null ? material.privateKey : null;
+  }
+
+  @Override
+  public String[] getClientAliases (String aKeyType, Principal[] aIssuers) {
+    return null;
+  }
+
+  @Override
+  public String chooseClientAlias (String[] aKeyTypes, Principal[] aIssuers, Socket aSocket) {
+    return null;
+  }
+
+  private static String normalize (String aHost) {
+    return aHost.toLowerCase(Locale.ROOT);
+  }
+
+  private static class KeyMaterial {
+
+    final String alias;
+    final PrivateKey privateKey;
+    final X509Certificate[] certificateChain;
+    final String keyType;
+
+    KeyMaterial (String aAlias, PrivateKey aPrivateKey, X509Certificate[] aCertificateChain) {
+      alias = aAlias;
+      privateKey = aPrivateKey;
+      certificateChain = aCertificateChain;
+      // BouncyCastle names its EC keys "ECDSA"
+      keyType = "ECDSA".equals(aPrivateKey.getAlgorithm()) ? "EC" : aPrivateKey.getAlgorithm();
+    }
+
+    /**
+     * Key types are either the key algorithm (e.g. <code>RSA</code>) or,
+     * for older cipher suites, the key algorithm followed by the algorithm
+     * of the issuer's signature (e.g. <code>EC_RSA</code>).
+     */
+    boolean matches (String aKeyType) {
+      return aKeyType == null || aKeyType.equals(keyType) || aKeyType.startsWith(keyType + "_");
+    }
+
+  }
+
+}
@@ -0,0 +1,174 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.lang.reflect.Method;
+import java.security.KeyStore;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.tomcat.util.net.AbstractEndpoint;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.embedded.EmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerInitializedEvent;
+import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.undertow.UndertowEmbeddedServletContainer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import io.undertow.Undertow;
+
+/**
+ * Swaps newly issued key material into the SSL connectors of the running 
+ * embedded servlet container, so that a certificate can be rotated without 
+ * a restart. Connections which are already established keep their session,
+ * new handshakes use the new certificate.
+ * <p>
+ * Tomcat and Jetty reload the keystore configured by <code>server.ssl.key-store</code>,
+ * so that property should point at <code>acme.key-store-file</code>. 
+ * Undertow is handed an SSL context built from the issued keystore.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(name="acme.hot-reload-enabled",havingValue="true",matchIfMissing=true)
+public class SslReloader {
+  
+  private static final ClassLoader CLASS_LOADER = SslReloader.class.getClassLoader();
+  
+  private static final boolean TOMCAT_PRESENT = ClassUtils.isPresent("org.apache.catalina.startup.Tomcat", CLASS_LOADER);
+  private static final boolean JETTY_PRESENT = ClassUtils.isPresent("org.eclipse.jetty.server.Server", CLASS_LOADER);
+  private static final boolean UNDERTOW_PRESENT = ClassUtils.isPresent("io.undertow.Undertow", CLASS_LOADER);
+  
+  private final AcmeConfigProperties config;
+  
+  private volatile EmbeddedServletContainer container;
+  
+  private static final Logger logger = LoggerFactory.getLogger(SslReloader.class);
+  
+  public SslReloader (AcmeConfigProperties aConfig) {
+    config = aConfig;
+  }
+
+  @EventListener
+  public void onContainerInitialized (EmbeddedServletContainerInitializedEvent aEvent) {
+    container = aEvent.getEmbeddedServletContainer();
+  }
+  
+  @EventListener
+  public void onCertificateIssued (CertificateIssuedEvent aEvent) {
+    if(container == null) {
+      logger.debug("No embedded servlet container to reload");
+      return;
+    }
+    if(config.isSniEnabled()) {
+      // the SNI key manager already serves the new certificate
+      return;
+    }
+    try {
+      int reloaded = 0;
+      if(TOMCAT_PRESENT) {
+        reloaded += TomcatReloader.reload(container);
+      }
+      if(JETTY_PRESENT) {
+        reloaded += JettyReloader.reload(container);
+      }
+      if(UNDERTOW_PRESENT) {
+        reloaded += UndertowReloader.reload(container, createSslContext(aEvent.getKeyStore()));
+      }
+      logger.info("Reloaded {} SSL connector(s) with the certificate for {}", reloaded, aEvent.getDomains());
+    }
+    catch (Exception ex) {
+      logger.error("Failed to reload the SSL connectors, a restart is required to use the new certificate", ex);
+    }
+  }
+  
+  private SSLContext createSslContext (KeyStore aKeyStore) throws Exception {
+    KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    kmf.init(aKeyStore, config.getKeyStorePassword().toCharArray());
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(kmf.getKeyManagers(), null, null);
+    return sslContext;
+  }
+  
+  private static class TomcatReloader {
+    
+    static int reload (EmbeddedServletContainer aContainer) {
+      if(!(aContainer instanceof TomcatEmbeddedServletContainer)) {
+        return 0;
+      }
+      int reloaded = 0;
+      for(Connector connector : ((TomcatEmbeddedServletContainer)aContainer).getTomcat().getService().findConnectors()) {
+        if(connector.getProtocolHandler() instanceof AbstractHttp11Protocol) {
+          AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+          if(protocol.isSSLEnabled()) {
+            // the endpoint is only exposed to subclasses
+            Method getEndpoint = ReflectionUtils.findMethod(AbstractProtocol.class, "getEndpoint");
+            ReflectionUtils.makeAccessible(getEndpoint);
+            AbstractEndpoint<?> endpoint = (AbstractEndpoint<?>) ReflectionUtils.invokeMethod(getEndpoint, protocol);
+            endpoint.reloadSslHostConfigs();
+            reloaded++;
+          }
+        }
+      }
+      return reloaded;
+    }
+    
+  }
+  
+  private static class JettyReloader {
+    
+    static int reload (EmbeddedServletContainer aContainer) throws Exception {
+      if(!(aContainer instanceof JettyEmbeddedServletContainer)) {
+        return 0;
+      }
+      int reloaded = 0;
+      for(org.eclipse.jetty.server.Connector connector : ((JettyEmbeddedServletContainer)aContainer).getServer().getConnectors()) {
+        SslConnectionFactory sslConnectionFactory = connector.getConnectionFactory(SslConnectionFactory.class);
+        if(sslConnectionFactory != null) {
+          // re-reads the configured keystore
+          sslConnectionFactory.getSslContextFactory().reload((sslContextFactory) -> {});
+          reloaded++;
+        }
+      }
+      return reloaded;
+    }
+    
+  }
+  
+  private static class UndertowReloader {
+    
+    static int reload (EmbeddedServletContainer aContainer, SSLContext aSslContext) {
+      if(!(aContainer instanceof UndertowEmbeddedServletContainer)) {
+        return 0;
+      }
+      // the Undertow instance isn't exposed by the container
+      Undertow undertow = (Undertow) new DirectFieldAccessor(aContainer).getPropertyValue("undertow");
+      if(undertow == null) {
+        return 0;
+      }
+      int reloaded = 0;
+      for(Undertow.ListenerInfo listener : undertow.getListenerInfo()) {
+        if("https".equals(listener.getProtcol())) {
+          listener.setSslContext(aSslContext);
+          reloaded++;
+        }
+      }
+      return reloaded;
+    }
+    
+  }
+  
+}
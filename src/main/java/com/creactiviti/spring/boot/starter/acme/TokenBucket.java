@@ -0,0 +1,85 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+/**
+ * A token bucket which refills continuously, at <code>capacity</code> tokens
+ * per <code>period</code>. Modelled on the CA's sliding window limits (e.g.
+ * 50 certificates per registered domain per week): a full bucket allows a
+ * burst of the whole capacity, after which tokens trickle back in.
+ * <p>
+ * Not thread safe.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class TokenBucket {
+
+  private final int capacity;
+
+  private final long period;
+
+  private double tokens;
+
+  private long updated;
+
+  /**
+   * @param aCapacity the max number of tokens.
+   * @param aPeriod the time (ms) it takes to refill an empty bucket.
+   */
+  public TokenBucket (int aCapacity, long aPeriod) {
+    this(aCapacity, aPeriod, aCapacity, System.currentTimeMillis());
+  }
+
+  /**
+   * Restores a bucket to the given state.
+   */
+  public TokenBucket (int aCapacity, long aPeriod, double aTokens, long aUpdated) {
+    capacity = aCapacity;
+    period = aPeriod;
+    tokens = Math.min(aCapacity, aTokens);
+    updated = aUpdated;
+  }
+
+  private void refill (long aNow) {
+    if(aNow > updated) {
+      tokens = Math.min(capacity, tokens + (aNow - updated) * (double) capacity / period);
+      updated = aNow;
+    }
+  }
+
+  /**
+   * @return the time (ms) until the given number of tokens are available,
+   * <code>0</code> if they are available now.
+   */
+  public long waitTime (int aTokens, long aNow) {
+    refill(aNow);
+    if(tokens >= aTokens) {
+      return 0;
+    }
+    return (long) Math.ceil((aTokens - tokens) * period / capacity);
+  }
+
+  /**
+   * Takes the given number of tokens, which may leave the bucket in debt.
+   */
+  public void take (int aTokens, long aNow) {
+    refill(aNow);
+    tokens -= aTokens;
+  }
+
+  /**
+   * @return <code>true</code> if the bucket is full, i.e. no different from a new one.
+   */
+  public boolean isFull (long aNow) {
+    refill(aNow);
+    return tokens >= capacity;
+  }
+
+  public double getTokens() {
+    return tokens;
+  }
+
+  public long getUpdated() {
+    return updated;
+  }
+
+}
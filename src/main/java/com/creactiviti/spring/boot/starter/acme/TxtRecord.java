@@ -0,0 +1,54 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.util.Objects;
+
+/**
+ * A DNS TXT record, as published for a <code>dns-01</code> challenge.
+ * 
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class TxtRecord {
+
+  private final String name;
+  private final String value;
+  
+  /**
+   * @param aName
+   *          the fully qualified name of the record, e.g. <code>_acme-challenge.example.com</code>
+   * @param aValue
+   *          the value of the record
+   */
+  public TxtRecord (String aName, String aValue) {
+    name = Objects.requireNonNull(aName);
+    value = Objects.requireNonNull(aValue);
+  }
+  
+  public String getName() {
+    return name;
+  }
+  
+  public String getValue() {
+    return value;
+  }
+  
+  @Override
+  public boolean equals (Object aOther) {
+    if(!(aOther instanceof TxtRecord)) {
+      return false;
+    }
+    TxtRecord other = (TxtRecord) aOther;
+    return name.equals(other.name) && value.equals(other.value);
+  }
+  
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, value);
+  }
+  
+  @Override
+  public String toString() {
+    return name + " TXT \"" + value + "\"";
+  }
+  
+}
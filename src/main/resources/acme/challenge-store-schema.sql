@@ -0,0 +1,7 @@
+create table acme_challenge (
+  token             varchar(255)  not null primary key,
+  key_authorization varchar(1024) not null,
+  expires_at        bigint        not null
+);
+
+create index ix_acme_challenge_expires_at on acme_challenge (expires_at);
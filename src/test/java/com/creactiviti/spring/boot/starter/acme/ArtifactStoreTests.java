@@ -0,0 +1,95 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.contentOf;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ArtifactStoreTests {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final AcmeConfigProperties config = new AcmeConfigProperties();
+
+  private Path directory;
+
+  @Before
+  public void setup () {
+    directory = temp.getRoot().toPath();
+    config.setDomainKeyFile(directory.resolve("domain.key").toString());
+    config.setDomainCsrFile(directory.resolve("domain.csr").toString());
+    config.setDomainChainFile(directory.resolve("domain-chain.crt").toString());
+    config.setKeyStoreFile(directory.resolve("keystore.p12").toString());
+  }
+
+  @Test
+  public void testPublishInPlace () throws Exception {
+    Map<String, File> published = write(new ArtifactStore(config).begin(null), "1").publish();
+
+    assertThat(published).containsOnlyKeys(config.getDomainKeyFile(), config.getDomainCsrFile(), config.getDomainChainFile(), config.getKeyStoreFile());
+    for(File file : published.values()) {
+      assertThat(contentOf(file)).endsWith("1");
+    }
+    // no temporary files left behind
+    assertThat(directory.toFile().list()).hasSize(4);
+  }
+
+  @Test
+  public void testPublishesTheKeyLast () throws Exception {
+    write(new ArtifactStore(config).begin(null), "1").publish();
+    // the key can't be replaced, as if the publish died along the way
+    Files.delete(directory.resolve("domain.key"));
+    Files.createDirectories(directory.resolve("domain.key").resolve("blocked"));
+
+    try {
+      write(new ArtifactStore(config).begin(null), "2").publish();
+      fail("the key can't be published");
+    }
+    catch (IOException ex) {
+      // the key is only replaced once its certificate is in place
+      assertThat(contentOf(new File(config.getKeyStoreFile()))).isEqualTo("keystore 2");
+      assertThat(contentOf(new File(config.getDomainChainFile()))).isEqualTo("chain 2");
+    }
+  }
+
+  @Test
+  public void testPublishGeneration () throws Exception {
+    config.setArtifactDirectory(directory.resolve("artifacts").toString());
+    ArtifactStore store = new ArtifactStore(config);
+    write(store.begin(null), "1").publish();
+    Map<String, File> published = write(store.begin(null), "2").publish();
+
+    assertThat(published.get(config.getKeyStoreFile())).isEqualTo(directory.resolve("artifacts").resolve(ArtifactStore.CURRENT).resolve("keystore.p12").toFile());
+    assertThat(contentOf(published.get(config.getKeyStoreFile()))).isEqualTo("keystore 2");
+    assertThat(contentOf(published.get(config.getDomainKeyFile()))).isEqualTo("key 2");
+    assertThat(directory.resolve("artifacts").resolve(ArtifactStore.GENERATIONS).toFile().list()).hasSize(2);
+  }
+
+  private ArtifactStore.Generation write (ArtifactStore.Generation aGeneration, String aVersion) {
+    return aGeneration.write(config.getDomainKeyFile(), bytes("key " + aVersion))
+                      .write(config.getDomainCsrFile(), bytes("csr " + aVersion))
+                      .write(config.getDomainChainFile(), bytes("chain " + aVersion))
+                      .write(config.getKeyStoreFile(), bytes("keystore " + aVersion));
+  }
+
+  private static byte[] bytes (String aContent) {
+    return aContent.getBytes(StandardCharsets.US_ASCII);
+  }
+
+}
@@ -0,0 +1,270 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * Issues certificates through the {@link CertGenerator} against the
+ * {@link MockAcmeServer}.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class CertGeneratorTests {
+
+  private static final List<String> DOMAINS = Arrays.asList("www.example.com", "api.example.com");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private MockAcmeServer acme;
+
+  private int challengePort;
+
+  private AnnotationConfigApplicationContext context;
+
+  @BeforeClass
+  public static void setupClass () {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  @Before
+  public void setup () throws Exception {
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      challengePort = socket.getLocalPort();
+    }
+    acme = new MockAcmeServer(0, 4);
+    acme.setHttpValidationHost("127.0.0.1");
+    acme.setHttpValidationPort(challengePort);
+    acme.start();
+  }
+
+  @After
+  public void teardown () {
+    if(context != null) {
+      context.close();
+    }
+    acme.stop();
+  }
+
+  @Test
+  public void testGenerate () throws Exception {
+    start(Collections.emptyMap());
+
+    context.getBean(CertGenerator.class).generate(DOMAINS);
+
+    CertificateInfo certificate = context.getBean(CertificateInventory.class).get(DOMAINS.get(0));
+    assertThat(certificate.getDomains()).containsOnlyElementsOf(DOMAINS).hasSize(DOMAINS.size());
+    assertThat(certificate.getIssuer()).isEqualTo(acme.getRoot().getSubjectX500Principal().getName());
+    assertThat(context.getBean(CertificateInventory.class).get(DOMAINS.get(1))).isSameAs(certificate);
+    assertThat(context.getBean(AcmeConfigProperties.class).resolve(null, "keystore.p12")).exists();
+    assertThat(context.getBean(AcmeMetrics.class).getCounters().get("challenge.hit").sum()).isEqualTo(DOMAINS.size());
+  }
+
+  @Test
+  public void testGeneratePerDomain () throws Exception {
+    start(Collections.singletonMap("acme.san-certificate", "false"));
+
+    context.getBean(CertGenerator.class).generate(DOMAINS);
+
+    CertificateInventory inventory = context.getBean(CertificateInventory.class);
+    for(String domain : DOMAINS) {
+      CertificateInfo certificate = inventory.get(domain);
+      assertThat(certificate).isNotNull();
+      assertThat(certificate.getDomains()).containsExactly(domain);
+      assertThat(certificate.getIssuer()).isEqualTo(acme.getRoot().getSubjectX500Principal().getName());
+      assertThat(context.getBean(AcmeConfigProperties.class).resolve(domain, "keystore.p12")).exists();
+    }
+  }
+
+  @Test
+  public void testGenerateWithDnsChallenge () throws Exception {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("acme.challenge-type", "dns-01");
+    properties.put("acme.dns-provider", "memory");
+    start(properties);
+    InMemoryDnsChallengeProvider dns = context.getBean(InMemoryDnsChallengeProvider.class);
+    acme.setTxtResolver(dns::getValues);
+
+    context.getBean(CertGenerator.class).generate(DOMAINS);
+
+    for(String domain : DOMAINS) {
+      assertThat(context.getBean(CertificateInventory.class).get(domain)).isNotNull();
+    }
+    assertThat(dns.getValues("_acme-challenge." + DOMAINS.get(0))).isEmpty();
+  }
+
+  @Test
+  public void testInvalidChallenge () throws Exception {
+    start(Collections.singletonMap("acme.challenge-server-enabled", "false"));
+
+    try {
+      context.getBean(CertGenerator.class).generate(DOMAINS.get(0));
+      fail("the challenge can't be answered");
+    }
+    catch (Exception ex) {
+      assertThat(context.getBean(CertificateInventory.class).get(DOMAINS.get(0))).isNull();
+      assertThat(context.getBean(AcmeMetrics.class).getCounters().get("authorization.failed").sum()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void testSelfCheckFollowsRedirectToHttps () throws Exception {
+    HttpsServer https = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    https.setHttpsConfigurator(new HttpsConfigurator(selfSignedContext()));
+    https.createContext(ChallengeFilter.PATH_PREFIX, (exchange) -> {
+      String token = exchange.getRequestURI().getPath().substring(ChallengeFilter.PATH_PREFIX.length());
+      byte[] body = context.getBean(ChallengeStore.class).getEncoded(token);
+      exchange.sendResponseHeaders(body != null ? 200 : 404, body != null ? body.length : -1);
+      if(body != null) {
+        exchange.getResponseBody().write(body);
+      }
+      exchange.close();
+    });
+    // as a proxy which sends everyone to https, by a name the certificate doesn't hold
+    HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    http.createContext("/", (exchange) -> {
+      exchange.getResponseHeaders().set("Location", "https://127.0.0.1:" + https.getAddress().getPort() + exchange.getRequestURI());
+      exchange.sendResponseHeaders(301, -1);
+      exchange.close();
+    });
+    https.start();
+    http.start();
+    try {
+      Map<String, Object> properties = new LinkedHashMap<>();
+      properties.put("acme.self-check-enabled", "true");
+      properties.put("acme.self-check-base-url", "http://127.0.0.1:" + http.getAddress().getPort());
+      start(properties);
+
+      context.getBean(CertGenerator.class).generate(DOMAINS);
+
+      assertThat(context.getBean(CertificateInventory.class).get(DOMAINS.get(0))).isNotNull();
+      assertThat(context.getBean(AcmeMetrics.class).getTimers().get("authorize.self-check").getCount()).isEqualTo(DOMAINS.size());
+    }
+    finally {
+      http.stop(0);
+      https.stop(0);
+    }
+  }
+
+  @Test
+  public void testReusesCachedAccount () throws Exception {
+    start(Collections.emptyMap());
+    CertGenerator generator = context.getBean(CertGenerator.class);
+
+    generator.generate(DOMAINS);
+    int registrations = acme.getRequestCount("reg");
+    generator.generate(DOMAINS);
+
+    assertThat(acme.getRequestCount("new-reg")).isEqualTo(1);
+    assertThat(acme.getRequestCount("reg")).isEqualTo(registrations);
+  }
+
+  @Test
+  public void testLooksUpAccountAgainAfterCaReset () throws Exception {
+    start(Collections.emptyMap());
+    CertGenerator generator = context.getBean(CertGenerator.class);
+    generator.generate(DOMAINS);
+
+    // a CA which doesn't know the cached account, on the same endpoint
+    int port = new URL(acme.getDirectory()).getPort();
+    acme.stop();
+    acme = new MockAcmeServer(port, 4);
+    acme.setHttpValidationHost("127.0.0.1");
+    acme.setHttpValidationPort(challengePort);
+    acme.start();
+    generator.generate(DOMAINS);
+
+    assertThat(acme.getRequestCount("new-reg")).isEqualTo(1);
+    assertThat(context.getBean(CertificateInventory.class).get(DOMAINS.get(0)).getIssuer()).isEqualTo(acme.getRoot().getSubjectX500Principal().getName());
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void testRejectsWildcardDomains () throws Exception {
+    start(Collections.emptyMap());
+    context.getBean(CertGenerator.class).generate("*.example.com");
+  }
+
+  private static SSLContext selfSignedContext () throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(256);
+    KeyPair keyPair = generator.generateKeyPair();
+    X500Name name = new X500Name("CN=self-signed.example.com");
+    Instant now = Instant.now();
+    X509Certificate certificate = new JcaX509CertificateConverter().getCertificate(
+      new JcaX509v3CertificateBuilder(name, BigInteger.ONE, Date.from(now), Date.from(now.plus(1, ChronoUnit.DAYS)), name, keyPair.getPublic())
+        .build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate()))
+    );
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    keyStore.load(null, null);
+    keyStore.setKeyEntry("self-signed", keyPair.getPrivate(), "password".toCharArray(), new X509Certificate[] {certificate});
+    KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    keyManagers.init(keyStore, "password".toCharArray());
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(keyManagers.getKeyManagers(), null, null);
+    return sslContext;
+  }
+
+  private void start (Map<String, Object> aProperties) throws Exception {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("acme.enabled", "true");
+    properties.put("acme.endpoint", acme.getDirectory());
+    properties.put("acme.domain-names", String.join(",", DOMAINS));
+    properties.put("acme.accept-terms-of-service", "true");
+    properties.put("acme.user-key-file", temp.getRoot().toPath().resolve("user.key").toString());
+    properties.put("acme.artifact-directory", temp.getRoot().toPath().resolve("artifacts").toString());
+    properties.put("acme.domain-key-algorithm", "EC_P256");
+    properties.put("acme.rate-limits-enabled", "false");
+    properties.put("acme.renewal-enabled", "false");
+    properties.put("acme.challenge-server-enabled", "true");
+    properties.put("acme.challenge-server-address", "127.0.0.1");
+    properties.put("acme.challenge-server-port", Integer.toString(challengePort));
+    properties.putAll(aProperties);
+
+    context = new AnnotationConfigApplicationContext();
+    context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+    context.register(AcmeAutoConfiguration.class);
+    context.refresh();
+  }
+
+}
@@ -0,0 +1,170 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.EmbeddedServletContainerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.ServerPropertiesAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Answers the challenges through the servlet path: the {@link ChallengeFilter}
+ * ahead of the <code>DispatcherServlet</code>, or the {@link ChallengeController}
+ * behind it.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ChallengeFilterTests {
+
+  private static final List<String> DOMAINS = Arrays.asList("www.example.com", "api.example.com");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final InMemoryChallengeStore store = new InMemoryChallengeStore();
+
+  private final AcmeMetrics metrics = new AcmeMetrics();
+
+  private MockMvc mvc;
+
+  @BeforeClass
+  public static void setupClass () {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  @Before
+  public void setup () {
+    store.put("token1", "token1.key");
+    mvc = MockMvcBuilders.standaloneSetup(new ChallengeController(store, metrics))
+                         .addFilters(new ChallengeFilter(store, metrics, 60 * 1000))
+                         .build();
+  }
+
+  @Test
+  public void testHit () throws Exception {
+    mvc.perform(get(ChallengeFilter.PATH_PREFIX + "token1"))
+       .andExpect(status().isOk())
+       .andExpect(header().string("Content-Type", "text/plain"))
+       .andExpect(content().string("token1.key"));
+    assertThat(metrics.getCounters().get("challenge.hit").sum()).isEqualTo(1);
+  }
+
+  @Test
+  public void testHead () throws Exception {
+    mvc.perform(head(ChallengeFilter.PATH_PREFIX + "token1"))
+       .andExpect(status().isOk())
+       .andExpect(header().string("Content-Length", "10"))
+       .andExpect(content().string(""));
+  }
+
+  @Test
+  public void testMiss () throws Exception {
+    mvc.perform(get(ChallengeFilter.PATH_PREFIX + "token2"))
+       .andExpect(status().isNotFound())
+       .andExpect(content().string(""));
+    mvc.perform(get(ChallengeFilter.PATH_PREFIX + "token1/nested"))
+       .andExpect(status().isNotFound());
+    assertThat(metrics.getCounters().get("challenge.miss").sum()).isEqualTo(2);
+  }
+
+  @Test
+  public void testController () throws Exception {
+    MockMvc controllerOnly = MockMvcBuilders.standaloneSetup(new ChallengeController(store, metrics)).build();
+    controllerOnly.perform(get(ChallengeFilter.PATH_PREFIX + "token1"))
+                  .andExpect(status().isOk())
+                  .andExpect(content().string("token1.key"));
+  }
+
+  @Test
+  public void testIssueThroughFilter () throws Exception {
+    issue(new LinkedHashMap<>());
+  }
+
+  @Test
+  public void testIssueThroughController () throws Exception {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("acme.challenge-filter-enabled", "false");
+    issue(properties);
+  }
+
+  /**
+   * Starts a servlet web application which issues its certificates on startup,
+   * the {@link MockAcmeServer} fetching the challenges from its port.
+   */
+  private void issue (Map<String, Object> aProperties) throws Exception {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = socket.getLocalPort();
+    }
+    MockAcmeServer acme = new MockAcmeServer(0, 4);
+    acme.setHttpValidationHost("127.0.0.1");
+    acme.setHttpValidationPort(port);
+    acme.start();
+
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("server.address", "127.0.0.1");
+    properties.put("server.port", Integer.toString(port));
+    properties.put("acme.enabled", "true");
+    properties.put("acme.endpoint", acme.getDirectory());
+    properties.put("acme.domain-names", String.join(",", DOMAINS));
+    properties.put("acme.accept-terms-of-service", "true");
+    properties.put("acme.user-key-file", temp.getRoot().toPath().resolve("user.key").toString());
+    properties.put("acme.artifact-directory", temp.getRoot().toPath().resolve("artifacts").toString());
+    properties.put("acme.domain-key-algorithm", "EC_P256");
+    properties.put("acme.rate-limits-enabled", "false");
+    properties.put("acme.renewal-enabled", "false");
+    properties.put("acme.hot-reload-enabled", "false");
+    properties.put("acme.async-issuance", "false");
+    properties.putAll(aProperties);
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ServletApplication.class).properties(properties).run()) {
+      CertificateInfo certificate = context.getBean(CertificateInventory.class).get(DOMAINS.get(0));
+      assertThat(certificate).isNotNull();
+      assertThat(certificate.getDomains()).containsOnlyElementsOf(DOMAINS).hasSize(DOMAINS.size());
+      assertThat(context.getBean(IssuanceStatus.class).getState()).isEqualTo(IssuanceStatus.State.SUCCEEDED);
+      assertThat(context.getBean(AcmeMetrics.class).getCounters().get("challenge.hit").sum()).isEqualTo(DOMAINS.size());
+    }
+    finally {
+      acme.stop();
+    }
+  }
+
+  /**
+   * Only applies to web application contexts, as the starter's component 
+   * scan picks it up in the other tests as well.
+   */
+  @Configuration
+  @ConditionalOnWebApplication
+  @EnableWebMvc
+  @Import({ServerPropertiesAutoConfiguration.class, EmbeddedServletContainerAutoConfiguration.class, DispatcherServletAutoConfiguration.class, AcmeAutoConfiguration.class})
+  static class ServletApplication {
+  }
+
+}
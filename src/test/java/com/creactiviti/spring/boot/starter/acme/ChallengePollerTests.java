@@ -0,0 +1,176 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.shredzone.acme4j.Status;
+import org.shredzone.acme4j.challenge.Challenge;
+import org.shredzone.acme4j.exception.AcmeException;
+import org.shredzone.acme4j.exception.AcmeRetryAfterException;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ChallengePollerTests {
+
+  private final AcmeConfigProperties config = new AcmeConfigProperties();
+
+  private final AcmeMetrics metrics = new AcmeMetrics();
+
+  private final Challenge challenge = mock(Challenge.class);
+
+  private ChallengePoller poller;
+
+  @After
+  public void teardown () {
+    if(poller != null) {
+      poller.destroy();
+    }
+  }
+
+  @Test
+  public void testValid () throws Exception {
+    config.setPollInitialDelay(10);
+    when(challenge.getStatus()).thenReturn(Status.PENDING, Status.PENDING, Status.VALID);
+    poller = new ChallengePoller(config, metrics);
+
+    assertThat(poller.poll(challenge, "example.com").get(5, TimeUnit.SECONDS) == challenge).isTrue();
+    verify(challenge, times(2)).update();
+    assertThat(metrics.getTimers().get("authorize.poll").getCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testAlreadyValid () throws Exception {
+    when(challenge.getStatus()).thenReturn(Status.VALID);
+    poller = new ChallengePoller(config, metrics);
+
+    CompletableFuture<Challenge> future = poller.poll(challenge, "example.com");
+    assertThat(future.isDone() && !future.isCompletedExceptionally()).isTrue();
+    verify(challenge, never()).update();
+  }
+
+  @Test
+  public void testInvalidFailsImmediately () throws Exception {
+    config.setPollInitialDelay(10);
+    when(challenge.getStatus()).thenReturn(Status.PENDING, Status.INVALID);
+    poller = new ChallengePoller(config, metrics);
+
+    long start = System.nanoTime();
+    assertFailure(poller.poll(challenge, "example.com"), "failed");
+    // without waiting for the timeout
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(config.getPollTimeout());
+    verify(challenge, times(1)).update();
+  }
+
+  @Test
+  public void testInvalidBeforePolling () throws Exception {
+    when(challenge.getStatus()).thenReturn(Status.INVALID);
+    poller = new ChallengePoller(config, metrics);
+
+    CompletableFuture<Challenge> future = poller.poll(challenge, "example.com");
+    assertThat(future.isCompletedExceptionally()).isTrue();
+    verify(challenge, never()).update();
+  }
+
+  @Test
+  public void testHonoursRetryAfter () throws Exception {
+    config.setPollInitialDelay(10);
+    config.setPollMaxDelay(20);
+    List<Long> updates = new CopyOnWriteArrayList<>();
+    doAnswer((invocation) -> {
+      updates.add(System.nanoTime());
+      if(updates.size() == 1) {
+        throw new AcmeRetryAfterException("not yet", Instant.now().plusMillis(500));
+      }
+      return null;
+    }).when(challenge).update();
+    when(challenge.getStatus()).thenReturn(Status.PENDING, Status.PENDING, Status.VALID);
+    poller = new ChallengePoller(config, metrics);
+
+    assertThat(poller.poll(challenge, "example.com").get(5, TimeUnit.SECONDS) == challenge).isTrue();
+    assertThat(updates).hasSize(2);
+    // way beyond the max delay of the backoff
+    assertThat(TimeUnit.NANOSECONDS.toMillis(updates.get(1) - updates.get(0))).isGreaterThanOrEqualTo(400);
+  }
+
+  @Test
+  public void testRetryAfterBeyondTheTimeout () throws Exception {
+    config.setPollInitialDelay(10);
+    config.setPollTimeout(1000);
+    doThrow(new AcmeRetryAfterException("not yet", Instant.now().plusSeconds(60))).when(challenge).update();
+    when(challenge.getStatus()).thenReturn(Status.PENDING);
+    poller = new ChallengePoller(config, metrics);
+
+    assertFailure(poller.poll(challenge, "example.com"), "Giving up");
+    verify(challenge, times(1)).update();
+  }
+
+  @Test
+  public void testTimeout () throws Exception {
+    config.setPollInitialDelay(10);
+    config.setPollMaxDelay(50);
+    config.setPollTimeout(300);
+    when(challenge.getStatus()).thenReturn(Status.PENDING);
+    poller = new ChallengePoller(config, metrics);
+
+    long start = System.nanoTime();
+    assertFailure(poller.poll(challenge, "example.com"), "Giving up");
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(config.getPollTimeout() + 1000);
+  }
+
+  @Test
+  public void testUpdateFails () throws Exception {
+    config.setPollInitialDelay(10);
+    AcmeException failure = new AcmeException("connection refused");
+    doThrow(failure).when(challenge).update();
+    when(challenge.getStatus()).thenReturn(Status.PENDING);
+    poller = new ChallengePoller(config, metrics);
+
+    try {
+      poller.poll(challenge, "example.com").get(5, TimeUnit.SECONDS);
+      fail("the update failed");
+    }
+    catch (ExecutionException ex) {
+      assertThat(ex.getCause() == failure).isTrue();
+    }
+  }
+
+  @Test
+  public void testCancelled () throws Exception {
+    config.setPollInitialDelay(100);
+    when(challenge.getStatus()).thenReturn(Status.PENDING);
+    poller = new ChallengePoller(config, metrics);
+
+    poller.poll(challenge, "example.com").cancel(true);
+    Thread.sleep(300);
+    verify(challenge, never()).update();
+  }
+
+  private static void assertFailure (CompletableFuture<Challenge> aFuture, String aMessage) throws Exception {
+    try {
+      aFuture.get(5, TimeUnit.SECONDS);
+      fail("the challenge didn't pass");
+    }
+    catch (ExecutionException ex) {
+      assertThat(ex.getCause()).isInstanceOf(AcmeException.class).hasMessageContaining(aMessage);
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.util.StreamUtils;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ChallengeServerTests {
+
+  private final InMemoryChallengeStore store = new InMemoryChallengeStore();
+
+  private ChallengeServer server;
+
+  @After
+  public void teardown () {
+    if(server != null) {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testServesChallenge () throws Exception {
+    store.put("token1", "token1.key");
+    server = new ChallengeServer(store, new AcmeMetrics(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+    server.start();
+    assertThat(server.isRunning()).isTrue();
+
+    HttpURLConnection connection = open("token1");
+    assertThat(connection.getResponseCode()).isEqualTo(200);
+    try (InputStream in = connection.getInputStream()) {
+      assertThat(StreamUtils.copyToString(in, StandardCharsets.US_ASCII)).isEqualTo("token1.key");
+    }
+    assertThat(open("token2").getResponseCode()).isEqualTo(404);
+  }
+
+  @Test
+  public void testStaysStoppedWhenThePortIsTaken () throws Exception {
+    try (ServerSocket taken = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      server = new ChallengeServer(store, new AcmeMetrics(), new InetSocketAddress(InetAddress.getLoopbackAddress(), taken.getLocalPort()), 1);
+      server.start();
+      assertThat(server.isRunning()).isFalse();
+    }
+  }
+
+  private HttpURLConnection open (String aToken) throws Exception {
+    URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + ChallengeFilter.PATH_PREFIX + aToken);
+    return (HttpURLConnection) url.openConnection();
+  }
+
+}
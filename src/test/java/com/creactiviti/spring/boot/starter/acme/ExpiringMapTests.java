@@ -0,0 +1,153 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class ExpiringMapTests {
+
+  private static final long TIME_TO_LIVE = 60 * 1000;
+
+  @Test
+  public void testPutAndGet () {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE);
+    assertThat(map.put("key1", "value1")).isNull();
+    assertThat(map.get("key1")).isEqualTo("value1");
+    assertThat(map.containsKey("key1")).isTrue();
+    assertThat(map.get("key2")).isNull();
+    assertThat(map.containsKey("key2")).isFalse();
+  }
+
+  @Test
+  public void testExpiresOnRead () throws InterruptedException {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE);
+    map.put("key1", "value1", 50);
+    map.put("key2", "value2");
+    Thread.sleep(100);
+    assertThat(map.get("key1")).isNull();
+    assertThat(map.containsKey("key1")).isFalse();
+    assertThat(map.get("key2")).isEqualTo("value2");
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testOverwriteRefreshesTheDeadline () throws InterruptedException {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE);
+    map.put("key1", "value1", 200);
+    Thread.sleep(100);
+    assertThat(map.put("key1", "value2", TIME_TO_LIVE)).isEqualTo("value1");
+    Thread.sleep(150);
+    // past the first deadline, within the second
+    assertThat(map.get("key1")).isEqualTo("value2");
+  }
+
+  @Test
+  public void testOverwriteOfAnExpiredEntry () {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE);
+    map.put("key1", "value1", 0);
+    assertThat(map.put("key1", "value2")).isNull();
+    assertThat(map.get("key1")).isEqualTo("value2");
+  }
+
+  @Test
+  public void testRemove () {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE);
+    map.put("key1", "value1");
+    map.put("key2", "value2", 0);
+    assertThat(map.remove("key1")).isEqualTo("value1");
+    assertThat(map.get("key1")).isNull();
+    assertThat(map.remove("key1")).isNull();
+    // an expired entry is removed as well, but isn't returned
+    assertThat(map.remove("key2")).isNull();
+    assertThat(map.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSweepsStaleEntries () throws InterruptedException {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE, 50);
+    for(int i=0; i < 10; i++) {
+      map.put("stale" + i, "value" + i, 10);
+    }
+    map.put("fresh", "value");
+    assertThat(map.size()).isEqualTo(11);
+    Thread.sleep(100);
+    // the stale entries are never read again, the next write sweeps them
+    map.put("other", "value");
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.get("fresh")).isEqualTo("value");
+  }
+
+  @Test
+  public void testNoSweepBeforeTheInterval () throws InterruptedException {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE, TIME_TO_LIVE);
+    map.put("stale", "value", 10);
+    Thread.sleep(50);
+    map.put("other", "value");
+    // still counted, until read or swept
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.get("stale")).isNull();
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testClear () {
+    ExpiringMap<String, String> map = new ExpiringMap<>(TIME_TO_LIVE);
+    map.put("key1", "value1");
+    map.clear();
+    assertThat(map.get("key1")).isNull();
+    assertThat(map.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testConcurrentPutAndGet () throws Exception {
+    ExpiringMap<Integer, Integer> map = new ExpiringMap<>(TIME_TO_LIVE, 1);
+    int threads = 8;
+    int keys = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for(int t=0; t < threads; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for(int round=0; round < 20; round++) {
+            for(int key=0; key < keys; key++) {
+              // every other key expires right away, to keep the sweeps busy
+              if(key % 2 == 0) {
+                map.put(key, key);
+                Integer value = map.get(key);
+                assertThat(value).isEqualTo(key);
+              }
+              else {
+                map.put(key, thread, 0);
+                assertThat(map.get(key)).isNull();
+              }
+            }
+          }
+          return null;
+        }));
+      }
+      for(Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    for(int key=0; key < keys; key++) {
+      assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key : null);
+    }
+    assertThat(map.size()).isEqualTo(keys / 2);
+  }
+
+}
@@ -0,0 +1,127 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class FileSystemChallengeStoreTests {
+
+  private static final long TIME_TO_LIVE = 60 * 1000;
+  
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+  
+  private Path directory;
+  
+  @Before
+  public void setup () {
+    directory = temp.getRoot().toPath().resolve("challenges");
+  }
+  
+  @Test
+  public void testPutAndGet () {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    assertThat(store.get("token2")).isNull();
+    assertThat(directory.resolve("token1")).exists();
+  }
+  
+  @Test
+  public void testSharedDirectory () {
+    FileSystemChallengeStore store1 = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    FileSystemChallengeStore store2 = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    store1.put("token1", "token1.key");
+    assertThat(store2.get("token1")).isEqualTo("token1.key");
+  }
+  
+  @Test
+  public void testExpired () {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key", 0);
+    assertThat(store.get("token1")).isNull();
+    assertThat(directory.resolve("token1")).doesNotExist();
+  }
+  
+  @Test
+  public void testSweep () throws InterruptedException {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, 50, 50);
+    store.put("token1", "token1.key", 0);
+    assertThat(directory.resolve("token1")).exists();
+    Thread.sleep(100);
+    store.put("token2", "token2.key");
+    assertThat(directory.resolve("token1")).doesNotExist();
+    assertThat(directory.resolve("token2")).exists();
+  }
+  
+  @Test
+  public void testLocalCache () throws IOException {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    // as removed by another node
+    Files.delete(directory.resolve("token1"));
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+  }
+  
+  @Test
+  public void testLocalCacheExpires () throws IOException, InterruptedException {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, 50);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    Files.delete(directory.resolve("token1"));
+    Thread.sleep(100);
+    assertThat(store.get("token1")).isNull();
+  }
+  
+  @Test
+  public void testRemove () {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    store.remove("token1");
+    assertThat(store.get("token1")).isNull();
+    assertThat(directory.resolve("token1")).doesNotExist();
+  }
+  
+  @Test
+  public void testPutAllAndRemoveAll () {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    Map<String, String> batch = new LinkedHashMap<>();
+    batch.put("token1", "token1.key");
+    batch.put("token2", "token2.key");
+    store.putAll(batch, TIME_TO_LIVE);
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    assertThat(store.get("token2")).isEqualTo("token2.key");
+    store.removeAll(Arrays.asList("token1", "token2"));
+    assertThat(store.get("token1")).isNull();
+    assertThat(store.get("token2")).isNull();
+  }
+  
+  @Test
+  public void testInvalidToken () {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    assertThat(store.get("../token1")).isNull();
+  }
+  
+  @Test(expected=IllegalArgumentException.class)
+  public void testPutInvalidToken () {
+    FileSystemChallengeStore store = new FileSystemChallengeStore(directory, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("../token1", "token1.key");
+  }
+  
+}
@@ -0,0 +1,195 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class IssuanceQueueTests {
+
+  private final CertGenerator generator = mock(CertGenerator.class);
+  
+  private final RateLimiter rateLimiter = mock(RateLimiter.class);
+  
+  private final IssuanceQueue queue = new IssuanceQueue(generator, new AcmeConfigProperties(), rateLimiter);
+  
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+  
+  @Captor
+  private ArgumentCaptor<List<List<String>>> batches;
+  
+  @Before
+  public void setup () {
+    MockitoAnnotations.initMocks(this);
+  }
+  
+  @After
+  public void teardown () {
+    queue.destroy();
+  }
+  
+  @Test
+  public void testSubmitWhileInFlight () throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer((invocation) -> {
+      started.countDown();
+      release.await();
+      return Collections.emptyMap();
+    }).when(generator).generateEach(any());
+    
+    List<String> domains = Collections.singletonList("example.com");
+    CompletableFuture<Void> first = queue.submit(domains, null);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    
+    // e.g. a renewal of the certificate on disk, while the startup issuance runs
+    CompletableFuture<Void> second = queue.submit(domains, null);
+    assertThat(second == first).isTrue();
+    
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    verify(generator, times(1)).generateEach(any());
+  }
+  
+  @Test
+  public void testSubmitCoveredByQueued () throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer((invocation) -> {
+      started.countDown();
+      release.await();
+      return Collections.emptyMap();
+    }).when(generator).generateEach(any());
+    
+    CompletableFuture<Void> first = queue.submit(Collections.singletonList("a.example.com"), null);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<Void> second = queue.submit(Collections.singletonList("b.example.com"), null);
+    CompletableFuture<Void> both = queue.submit(Arrays.asList("a.example.com", "b.example.com"), null);
+    assertThat(both.isDone()).isFalse();
+    
+    release.countDown();
+    both.get(5, TimeUnit.SECONDS);
+    assertThat(first.isDone()).isTrue();
+    assertThat(second.isDone()).isTrue();
+    verify(generator, times(2)).generateEach(any());
+  }
+  
+  @Test
+  public void testDrainsEveryRequestWithinTheLimits () throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(generator.generateEach(any())).thenAnswer((invocation) -> {
+      started.countDown();
+      release.await();
+      return Collections.emptyMap();
+    });
+    
+    CompletableFuture<Void> first = queue.submit(Collections.singletonList("a.example.com"), null);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<?>[] queued = {
+      queue.submit(Collections.singletonList("b.example.com"), null),
+      queue.submit(Collections.singletonList("c.example.org"), null),
+      queue.submit(Collections.singletonList("d.example.net"), null)
+    };
+    
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    CompletableFuture.allOf(queued).get(5, TimeUnit.SECONDS);
+    
+    verify(generator, times(2)).generateEach(batches.capture());
+    assertThat(batches.getAllValues().get(1)).hasSize(3);
+  }
+  
+  @Test
+  public void testRequeuesRateLimitedBatches () throws Exception {
+    List<String> domains = Collections.singletonList("example.com");
+    when(generator.generateEach(any()))
+      .thenReturn(Collections.singletonMap(domains, new RateLimitException(domains, Instant.now())))
+      .thenReturn(Collections.emptyMap());
+    
+    queue.submit(domains, null).get(5, TimeUnit.SECONDS);
+    verify(generator, times(2)).generateEach(any());
+  }
+  
+  @Test
+  public void testRequeuesWithinTheLimits () throws Exception {
+    AcmeConfigProperties config = new AcmeConfigProperties();
+    config.setOrdersPerAccount(2);
+    config.setRateLimitFile(temp.getRoot().toPath().resolve("rate-limits.properties").toString());
+    MutableClock clock = new MutableClock(Instant.parse("2026-10-18T00:00:00Z"));
+    RateLimiter limiter = new RateLimiter(config, clock);
+    IssuanceQueue limited = new IssuanceQueue(generator, config, limiter);
+    
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(generator.generateEach(any())).thenAnswer((invocation) -> {
+      started.countDown();
+      release.await();
+      // as the CertGenerator does, each batch takes its tokens or is rate limited
+      Map<List<String>, Exception> failures = new LinkedHashMap<>();
+      long wait = 0;
+      for(List<String> batch : batchesOf(invocation)) {
+        long batchWait = limiter.acquire(batch);
+        if(batchWait > 0) {
+          failures.put(batch, new RateLimitException(batch, clock.instant().plusMillis(batchWait)));
+          wait = Math.max(wait, batchWait);
+        }
+      }
+      clock.advance(Duration.ofMillis(wait));
+      return failures;
+    });
+    
+    try {
+      CompletableFuture<Void> first = limited.submit(Collections.singletonList("a.example.com"), null);
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      // both within the limits on their own, but not together
+      CompletableFuture<Void> second = limited.submit(Collections.singletonList("b.example.org"), null);
+      CompletableFuture<Void> third = limited.submit(Collections.singletonList("c.example.net"), null);
+      
+      release.countDown();
+      CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+      
+      verify(generator, times(3)).generateEach(batches.capture());
+      assertThat(batches.getAllValues().get(1)).containsExactly(Collections.singletonList("b.example.org"), Collections.singletonList("c.example.net"));
+      assertThat(batches.getAllValues().get(2)).containsExactly(Collections.singletonList("c.example.net"));
+    }
+    finally {
+      limited.destroy();
+    }
+  }
+  
+  @SuppressWarnings("unchecked")
+  private static List<List<String>> batchesOf (InvocationOnMock aInvocation) {
+    return (List<List<String>>) aInvocation.getArguments()[0];
+  }
+  
+}
@@ -0,0 +1,147 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class JdbcChallengeStoreTests {
+
+  private static final long TIME_TO_LIVE = 60 * 1000;
+  
+  private EmbeddedDatabase database;
+  
+  private JdbcTemplate jdbc;
+  
+  @Before
+  public void setup () {
+    database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                                            .generateUniqueName(true)
+                                            .addScript("classpath:acme/challenge-store-schema.sql")
+                                            .build();
+    jdbc = new JdbcTemplate(database);
+  }
+  
+  @After
+  public void teardown () {
+    database.shutdown();
+  }
+  
+  @Test
+  public void testPutAndGet () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    assertThat(store.get("token2")).isNull();
+  }
+  
+  @Test
+  public void testPutReplaces () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.old");
+    store.put("token1", "token1.new");
+    assertThat(store.get("token1")).isEqualTo("token1.new");
+    assertThat(count("token1")).isEqualTo(1);
+  }
+  
+  @Test
+  public void testExpired () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key", 0);
+    assertThat(store.get("token1")).isNull();
+  }
+  
+  @Test
+  public void testSweep () throws InterruptedException {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, 50, 50);
+    store.put("token1", "token1.key", 0);
+    assertThat(count("token1")).isEqualTo(1);
+    Thread.sleep(100);
+    store.put("token2", "token2.key");
+    assertThat(count("token1")).isEqualTo(0);
+    assertThat(count("token2")).isEqualTo(1);
+  }
+  
+  @Test
+  public void testLocalCache () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    // as removed by another node
+    jdbc.update("delete from acme_challenge where token = ?", "token1");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+  }
+  
+  @Test
+  public void testLocalCacheExpires () throws InterruptedException {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, 50);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    jdbc.update("delete from acme_challenge where token = ?", "token1");
+    Thread.sleep(100);
+    assertThat(store.get("token1")).isNull();
+  }
+  
+  @Test
+  public void testRemove () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.key");
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    store.remove("token1");
+    assertThat(store.get("token1")).isNull();
+    assertThat(count("token1")).isEqualTo(0);
+  }
+  
+  @Test
+  public void testPutAllAndRemoveAll () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.old");
+    Map<String, String> batch = new LinkedHashMap<>();
+    batch.put("token1", "token1.key");
+    batch.put("token2", "token2.key");
+    store.putAll(batch, TIME_TO_LIVE);
+    assertThat(store.get("token1")).isEqualTo("token1.key");
+    assertThat(store.get("token2")).isEqualTo("token2.key");
+    store.removeAll(Arrays.asList("token1", "token2"));
+    assertThat(store.get("token1")).isNull();
+    assertThat(store.get("token2")).isNull();
+  }
+  
+  @Test
+  public void testPutAllRollsBack () {
+    JdbcChallengeStore store = new JdbcChallengeStore(database, TIME_TO_LIVE, TIME_TO_LIVE);
+    store.put("token1", "token1.old");
+    Map<String, String> batch = new LinkedHashMap<>();
+    batch.put("token1", "token1.key");
+    // violates the not null constraint
+    batch.put("token2", null);
+    try {
+      store.putAll(batch, TIME_TO_LIVE);
+      fail("the batch can't be inserted");
+    }
+    catch (DataAccessException ex) {
+      assertThat(jdbc.queryForObject("select key_authorization from acme_challenge where token = ?", String.class, "token1")).isEqualTo("token1.old");
+      assertThat(count("token2")).isEqualTo(0);
+    }
+  }
+  
+  private int count (String aToken) {
+    return jdbc.queryForObject("select count(*) from acme_challenge where token = ?", Integer.class, aToken);
+  }
+  
+}
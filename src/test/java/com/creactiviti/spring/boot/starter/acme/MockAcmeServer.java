@@ -0,0 +1,728 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x500.style.IETFUtils;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequest;
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.lang.JoseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An in-process stand-in for an ACME v1 CA -- in the spirit of Pebble --
+ * speaking the protocol acme4j 0.14 expects, so that the issuance can be
+ * exercised and measured without touching the network:
+ * <ul>
+ *   <li>the directory, and a <code>Replay-Nonce</code> on every response,
+ *   each nonce good for a single request</li>
+ *   <li>registration (<code>new-reg</code>, <code>409</code> for a known key,
+ *   agreement updates)</li>
+ *   <li>authorization (<code>new-authz</code>) with <code>http-01</code> and
+ *   <code>dns-01</code> challenges, validated asynchronously once triggered:
+ *   <code>http-01</code> by fetching the token from the application,
+ *   <code>dns-01</code> through a TXT lookup function</li>
+ *   <li>certificate signing (<code>new-cert</code>) by a throwaway EC root,
+ *   for the names the account holds valid authorizations for, and the
+ *   download of the certificate and its issuer</li>
+ * </ul>
+ * Every signed request is verified against the JWK it carries, whose
+ * thumbprint identifies the account.
+ * <p>
+ * Nothing is persisted, and there are no rate limits.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class MockAcmeServer {
+
+  private static final String PATH_PREFIX = "/.well-known/acme-challenge/";
+
+  private static final int OK = 200;
+  private static final int CREATED = 201;
+  private static final int ACCEPTED = 202;
+  private static final int BAD_REQUEST = 400;
+  private static final int FORBIDDEN = 403;
+  private static final int NOT_FOUND = 404;
+  private static final int CONFLICT = 409;
+  private static final int SERVER_ERROR = 500;
+
+  private final HttpServer server;
+
+  private final ExecutorService executor;
+
+  private final ScheduledExecutorService validator;
+
+  private final KeyPair rootKeyPair;
+
+  private final X509Certificate root;
+
+  private final SecureRandom random = new SecureRandom();
+
+  private final AtomicLong ids = new AtomicLong();
+
+  private final Set<String> nonces = ConcurrentHashMap.newKeySet();
+
+  /** account id by key thumbprint */
+  private final Map<String, Long> accounts = new ConcurrentHashMap<>();
+
+  private final Map<Long, Map<String, Object>> authorizations = new ConcurrentHashMap<>();
+
+  private final Map<Long, Challenge> challenges = new ConcurrentHashMap<>();
+
+  private final Map<Long, byte[]> certificates = new ConcurrentHashMap<>();
+
+  /** number of signed requests by resource */
+  private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+  private volatile String httpValidationHost;
+
+  private volatile int httpValidationPort = 80;
+
+  private volatile Function<String, Collection<String>> txtResolver = (name) -> Collections.emptyList();
+
+  private volatile long validationDelay;
+
+  private static final Logger logger = LoggerFactory.getLogger(MockAcmeServer.class);
+
+  /**
+   * @param aPort
+   *          the port to listen on, <code>0</code> for any free port
+   * @param aThreads
+   *          the number of threads to serve the requests with
+   */
+  public MockAcmeServer (int aPort, int aThreads) throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    rootKeyPair = generator.generateKeyPair();
+    root = signRoot();
+
+    AtomicInteger counter = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(aThreads, (runnable) -> {
+      Thread thread = new Thread(runnable, "mock-acme-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    validator = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+      Thread thread = new Thread(runnable, "mock-acme-validator");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", aPort), 0);
+    server.createContext("/", this::handle);
+    server.setExecutor(executor);
+  }
+
+  public void start () {
+    server.start();
+    logger.info("Mock ACME server listening on {}", getDirectory());
+  }
+
+  public void stop () {
+    server.stop(0);
+    executor.shutdownNow();
+    validator.shutdownNow();
+  }
+
+  /**
+   * @return the directory URL, to set <code>acme.endpoint</code> to.
+   */
+  public String getDirectory () {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + "/directory";
+  }
+
+  /**
+   * @return the root which signs the certificates.
+   */
+  public X509Certificate getRoot () {
+    return root;
+  }
+
+  /**
+   * @return the number of signed requests made to the given resource, e.g.
+   * <code>new-reg</code> or <code>reg</code>.
+   */
+  public int getRequestCount (String aResource) {
+    AtomicInteger count = requests.get(aResource);
+    return count != null ? count.get() : 0;
+  }
+
+  /**
+   * Sends the <code>http-01</code> validation requests to the given host
+   * instead of the domain being validated, as the test domains don't resolve.
+   */
+  public void setHttpValidationHost (String aHost) {
+    httpValidationHost = aHost;
+  }
+
+  public void setHttpValidationPort (int aPort) {
+    httpValidationPort = aPort;
+  }
+
+  /**
+   * Sets the function looking up the TXT records of a name, for the
+   * <code>dns-01</code> validations.
+   */
+  public void setTxtResolver (Function<String, Collection<String>> aTxtResolver) {
+    txtResolver = aTxtResolver;
+  }
+
+  /**
+   * Sets how long (ms) a triggered challenge stays pending before it is
+   * validated, to mimic the latency of a real CA.
+   */
+  public void setValidationDelay (long aValidationDelay) {
+    validationDelay = aValidationDelay;
+  }
+
+  private void handle (HttpExchange aExchange) throws IOException {
+    try {
+      String method = aExchange.getRequestMethod();
+      String[] path = aExchange.getRequestURI().getPath().substring(1).split("/");
+      if("HEAD".equals(method)) {
+        respond(aExchange, OK, null, null);
+        return;
+      }
+      if("GET".equals(method)) {
+        get(aExchange, path);
+      }
+      else if("POST".equals(method)) {
+        post(aExchange, path);
+      }
+      else {
+        problem(aExchange, BAD_REQUEST, "malformed", "Unsupported method " + method);
+      }
+    }
+    catch (AcmeProblem problem) {
+      problem(aExchange, problem.status, problem.type, problem.getMessage());
+    }
+    catch (Exception ex) {
+      logger.error("Failed to handle " + aExchange.getRequestURI(), ex);
+      problem(aExchange, SERVER_ERROR, "serverInternal", String.valueOf(ex.getMessage()));
+    }
+    finally {
+      aExchange.close();
+    }
+  }
+
+  private void get (HttpExchange aExchange, String[] aPath) throws IOException {
+    switch(aPath[0]) {
+      case "directory":
+        Map<String, Object> directory = new LinkedHashMap<>();
+        directory.put("new-reg", url("new-reg"));
+        directory.put("new-authz", url("new-authz"));
+        directory.put("new-cert", url("new-cert"));
+        directory.put("revoke-cert", url("revoke-cert"));
+        directory.put("meta", Collections.singletonMap("terms-of-service", url("terms")));
+        json(aExchange, OK, directory);
+        return;
+      case "authz":
+        json(aExchange, OK, authorizationJson(find(authorizations, aPath)));
+        return;
+      case "challenge":
+        json(aExchange, OK, find(challenges, aPath).toJson());
+        return;
+      case "cert":
+        certificate(aExchange, find(certificates, aPath), url("issuer"));
+        return;
+      case "issuer":
+        try {
+          certificate(aExchange, root.getEncoded(), null);
+        }
+        catch (Exception ex) {
+          throw new IOException(ex);
+        }
+        return;
+      case "terms":
+        respond(aExchange, OK, "text/plain", "Anything goes.".getBytes(StandardCharsets.US_ASCII));
+        return;
+      default:
+        throw new AcmeProblem(NOT_FOUND, "malformed", "Unknown resource " + aExchange.getRequestURI());
+    }
+  }
+
+  private void post (HttpExchange aExchange, String[] aPath) throws Exception {
+    SignedRequest request = verify(aExchange);
+    requests.computeIfAbsent(aPath[0], (resource) -> new AtomicInteger()).incrementAndGet();
+    switch(aPath[0]) {
+      case "new-reg": {
+        Long existing = accounts.putIfAbsent(request.thumbprint, ids.incrementAndGet());
+        String location = url("reg/" + accounts.get(request.thumbprint));
+        aExchange.getResponseHeaders().set("Location", location);
+        if(existing != null) {
+          problem(aExchange, CONFLICT, "malformed", "Registration key is already in use");
+          return;
+        }
+        aExchange.getResponseHeaders().add("Link", "<" + url("terms") + ">;rel=\"terms-of-service\"");
+        json(aExchange, CREATED, registrationJson(request));
+        return;
+      }
+      case "reg":
+        requireAccount(request, aPath);
+        json(aExchange, ACCEPTED, registrationJson(request));
+        return;
+      case "new-authz":
+        newAuthorization(aExchange, request);
+        return;
+      case "challenge":
+        Challenge challenge = find(challenges, aPath);
+        if(!challenge.thumbprint.equals(request.thumbprint)) {
+          throw new AcmeProblem(FORBIDDEN, "unauthorized", "The challenge belongs to another account");
+        }
+        trigger(challenge, (String) request.payload.get("keyAuthorization"));
+        aExchange.getResponseHeaders().set("Location", url("challenge/" + challenge.id));
+        json(aExchange, ACCEPTED, challenge.toJson());
+        return;
+      case "new-cert":
+        newCertificate(aExchange, request);
+        return;
+      default:
+        throw new AcmeProblem(NOT_FOUND, "malformed", "Unknown resource " + aExchange.getRequestURI());
+    }
+  }
+
+  private Map<String, Object> registrationJson (SignedRequest aRequest) {
+    Map<String, Object> registration = new LinkedHashMap<>();
+    registration.put("key", aRequest.jwk.toParams(PublicJsonWebKey.OutputControlLevel.PUBLIC_ONLY));
+    if(aRequest.payload.containsKey("contact")) {
+      registration.put("contact", aRequest.payload.get("contact"));
+    }
+    if(aRequest.payload.containsKey("agreement")) {
+      registration.put("agreement", aRequest.payload.get("agreement"));
+    }
+    registration.put("status", "valid");
+    return registration;
+  }
+
+  private void requireAccount (SignedRequest aRequest, String[] aPath) {
+    Long account = accounts.get(aRequest.thumbprint);
+    if(account == null || (aPath.length > 1 && !aPath[1].equals(account.toString()))) {
+      throw new AcmeProblem(FORBIDDEN, "unauthorized", "No registration exists matching the provided key");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void newAuthorization (HttpExchange aExchange, SignedRequest aRequest) throws IOException {
+    requireAccount(aRequest, new String[0]);
+    Map<String, Object> identifier = (Map<String, Object>) aRequest.payload.get("identifier");
+    String domain = identifier != null ? (String) identifier.get("value") : null;
+    if(domain == null || !"dns".equals(identifier.get("type"))) {
+      throw new AcmeProblem(BAD_REQUEST, "malformed", "Invalid identifier " + identifier);
+    }
+
+    long id = ids.incrementAndGet();
+    Map<String, Object> authorization = new LinkedHashMap<>();
+    authorization.put("id", id);
+    authorization.put("thumbprint", aRequest.thumbprint);
+    authorization.put("identifier", identifier);
+    authorization.put("expires", Instant.now().plus(Duration.ofDays(7)).toString());
+    List<Challenge> authorizationChallenges = new ArrayList<>();
+    for(String type : new String[] {"http-01", "dns-01"}) {
+      Challenge challenge = new Challenge(ids.incrementAndGet(), type, domain, aRequest.thumbprint, token());
+      challenges.put(challenge.id, challenge);
+      authorizationChallenges.add(challenge);
+    }
+    authorization.put("challenges", authorizationChallenges);
+    authorizations.put(id, authorization);
+
+    aExchange.getResponseHeaders().set("Location", url("authz/" + id));
+    json(aExchange, CREATED, authorizationJson(authorization));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> authorizationJson (Map<String, Object> aAuthorization) {
+    List<Challenge> authorizationChallenges = (List<Challenge>) aAuthorization.get("challenges");
+    List<Object> challengesJson = new ArrayList<>();
+    List<Object> combinations = new ArrayList<>();
+    for(int i=0; i<authorizationChallenges.size(); i++) {
+      challengesJson.add(authorizationChallenges.get(i).toJson());
+      combinations.add(Collections.singletonList(i));
+    }
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("identifier", aAuthorization.get("identifier"));
+    json.put("status", authorizationStatus(aAuthorization));
+    json.put("expires", aAuthorization.get("expires"));
+    json.put("challenges", challengesJson);
+    json.put("combinations", combinations);
+    return json;
+  }
+
+  @SuppressWarnings("unchecked")
+  private String authorizationStatus (Map<String, Object> aAuthorization) {
+    String status = "pending";
+    for(Challenge challenge : (List<Challenge>) aAuthorization.get("challenges")) {
+      if("valid".equals(challenge.status)) {
+        return "valid";
+      }
+      if("invalid".equals(challenge.status)) {
+        status = "invalid";
+      }
+    }
+    return status;
+  }
+
+  private void trigger (Challenge aChallenge, String aKeyAuthorization) {
+    synchronized (aChallenge) {
+      if(!"pending".equals(aChallenge.status) || aChallenge.triggered) {
+        return;
+      }
+      aChallenge.triggered = true;
+    }
+    String expected = aChallenge.token + "." + aChallenge.thumbprint;
+    if(aKeyAuthorization != null && !aKeyAuthorization.equals(expected)) {
+      aChallenge.fail("The key authorization doesn't match the account key");
+      return;
+    }
+    validator.schedule(() -> executor.execute(() -> validate(aChallenge, expected)), validationDelay, TimeUnit.MILLISECONDS);
+  }
+
+  private void validate (Challenge aChallenge, String aKeyAuthorization) {
+    try {
+      if("http-01".equals(aChallenge.type)) {
+        String host = httpValidationHost != null ? httpValidationHost : aChallenge.domain;
+        HttpURLConnection connection = (HttpURLConnection) new URL("http", host, httpValidationPort, PATH_PREFIX + aChallenge.token).openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        int status = connection.getResponseCode();
+        String body = status == OK ? new String(read(connection.getInputStream()), StandardCharsets.US_ASCII).trim() : null;
+        if(!aKeyAuthorization.equals(body)) {
+          aChallenge.fail("The key authorization file from the server did not match this challenge (status " + status + ")");
+          return;
+        }
+      }
+      else {
+        String name = "_acme-challenge." + (aChallenge.domain.startsWith("*.") ? aChallenge.domain.substring(2) : aChallenge.domain);
+        String digest = base64(MessageDigest.getInstance("SHA-256").digest(aKeyAuthorization.getBytes(StandardCharsets.UTF_8)));
+        if(!txtResolver.apply(name).contains(digest)) {
+          aChallenge.fail("Correct value not found for DNS challenge at " + name);
+          return;
+        }
+      }
+      aChallenge.succeed();
+    }
+    catch (Exception ex) {
+      aChallenge.fail("Validation failed: " + ex);
+    }
+  }
+
+  private void newCertificate (HttpExchange aExchange, SignedRequest aRequest) throws Exception {
+    requireAccount(aRequest, new String[0]);
+    PKCS10CertificationRequest csr = new JcaPKCS10CertificationRequest(Base64.getUrlDecoder().decode((String) aRequest.payload.get("csr")));
+
+    Set<String> names = new LinkedHashSet<>();
+    for(org.bouncycastle.asn1.pkcs.Attribute attribute : csr.getAttributes(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest)) {
+      for(ASN1Encodable value : attribute.getAttributeValues()) {
+        GeneralNames sans = GeneralNames.fromExtensions(Extensions.getInstance(value), Extension.subjectAlternativeName);
+        if(sans != null) {
+          for(GeneralName name : sans.getNames()) {
+            names.add(name.getName().toString());
+          }
+        }
+      }
+    }
+    if(csr.getSubject().getRDNs(BCStyle.CN).length > 0) {
+      names.add(IETFUtils.valueToString(csr.getSubject().getRDNs(BCStyle.CN)[0].getFirst().getValue()));
+    }
+    if(names.isEmpty()) {
+      throw new AcmeProblem(BAD_REQUEST, "malformed", "The CSR holds no names");
+    }
+    for(String name : names) {
+      if(!isAuthorized(aRequest.thumbprint, name)) {
+        throw new AcmeProblem(FORBIDDEN, "unauthorized", "Error creating new cert :: authorizations for these names not found or expired: " + name);
+      }
+    }
+
+    X509Certificate certificate = sign(csr, new ArrayList<>(names));
+    long id = ids.incrementAndGet();
+    certificates.put(id, certificate.getEncoded());
+    aExchange.getResponseHeaders().set("Location", url("cert/" + id));
+    aExchange.getResponseHeaders().add("Link", "<" + url("issuer") + ">;rel=\"up\"");
+    respond(aExchange, CREATED, "application/pkix-cert", certificate.getEncoded());
+  }
+
+  /**
+   * @return whether the account holds a valid authorization for the name, or
+   * for the base domain of a wildcard name.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean isAuthorized (String aThumbprint, String aName) {
+    String base = aName.startsWith("*.") ? aName.substring(2) : aName;
+    for(Map<String, Object> authorization : authorizations.values()) {
+      String domain = (String) ((Map<String, Object>) authorization.get("identifier")).get("value");
+      if(aThumbprint.equals(authorization.get("thumbprint"))
+          && (aName.equals(domain) || base.equals(domain))
+          && "valid".equals(authorizationStatus(authorization))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private X509Certificate signRoot () throws Exception {
+    X500Principal subject = new X500Principal("CN=Mock ACME Root");
+    Instant now = Instant.now();
+    X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, new BigInteger(64, random), Date.from(now.minus(Duration.ofDays(1))), Date.from(now.plus(Duration.ofDays(3650))), subject, rootKeyPair.getPublic());
+    builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+    builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+    return new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(rootKeyPair.getPrivate())));
+  }
+
+  private X509Certificate sign (PKCS10CertificationRequest aCsr, List<String> aNames) throws Exception {
+    GeneralName[] sans = aNames.stream().map((name) -> new GeneralName(GeneralName.dNSName, name)).toArray(GeneralName[]::new);
+    Instant now = Instant.now();
+    X509v3CertificateBuilder builder = new X509v3CertificateBuilder(
+      X500Name.getInstance(root.getSubjectX500Principal().getEncoded()),
+      new BigInteger(64, random),
+      Date.from(now.minus(Duration.ofMinutes(1))),
+      Date.from(now.plus(Duration.ofDays(90))),
+      new X500Name("CN=" + aNames.get(0)),
+      aCsr.getSubjectPublicKeyInfo()
+    );
+    builder.addExtension(Extension.subjectAlternativeName, false, new GeneralNames(sans));
+    builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+    builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.digitalSignature | KeyUsage.keyEncipherment));
+    builder.addExtension(Extension.extendedKeyUsage, false, new ExtendedKeyUsage(KeyPurposeId.id_kp_serverAuth));
+    return new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(rootKeyPair.getPrivate())));
+  }
+
+  /**
+   * Verifies the flattened JWS of a POST and consumes its nonce.
+   */
+  private SignedRequest verify (HttpExchange aExchange) throws IOException {
+    try {
+      Map<String, Object> body = JsonUtil.parseJson(new String(read(aExchange.getRequestBody()), StandardCharsets.UTF_8));
+      JsonWebSignature jws = new JsonWebSignature();
+      jws.setCompactSerialization(body.get("protected") + "." + body.get("payload") + "." + body.get("signature"));
+
+      String nonce = jws.getHeaders().getStringHeaderValue("nonce");
+      if(nonce == null || !nonces.remove(nonce)) {
+        throw new AcmeProblem(BAD_REQUEST, "badNonce", "JWS has an invalid anti-replay nonce: " + nonce);
+      }
+
+      @SuppressWarnings("unchecked")
+      Map<String, Object> jwkParams = (Map<String, Object>) jws.getHeaders().getObjectHeaderValue("jwk");
+      if(jwkParams == null) {
+        throw new AcmeProblem(BAD_REQUEST, "malformed", "The JWS carries no jwk");
+      }
+      PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(jwkParams);
+      jws.setKey(jwk.getKey());
+      if(!jws.verifySignature()) {
+        throw new AcmeProblem(BAD_REQUEST, "malformed", "JWS verification error");
+      }
+      return new SignedRequest(jwk, jwk.calculateBase64urlEncodedThumbprint("SHA-256"), JsonUtil.parseJson(jws.getPayload()));
+    }
+    catch (JoseException ex) {
+      throw new AcmeProblem(BAD_REQUEST, "malformed", "Parse error reading JWS: " + ex.getMessage());
+    }
+  }
+
+  private <V> V find (Map<Long, V> aResources, String[] aPath) {
+    V resource = null;
+    try {
+      resource = aPath.length > 1 ? aResources.get(Long.valueOf(aPath[1])) : null;
+    }
+    catch (NumberFormatException ex) {
+      // not found
+    }
+    if(resource == null) {
+      throw new AcmeProblem(NOT_FOUND, "malformed", "No such resource");
+    }
+    return resource;
+  }
+
+  private String url (String aPath) {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + "/" + aPath;
+  }
+
+  private String token () {
+    byte[] token = new byte[32];
+    random.nextBytes(token);
+    return base64(token);
+  }
+
+  private static String base64 (byte[] aBytes) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(aBytes);
+  }
+
+  private void json (HttpExchange aExchange, int aStatus, Map<String, Object> aJson) throws IOException {
+    respond(aExchange, aStatus, "application/json", JsonUtil.toJson(aJson).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void certificate (HttpExchange aExchange, byte[] aCertificate, String aIssuer) throws IOException {
+    if(aIssuer != null) {
+      aExchange.getResponseHeaders().add("Link", "<" + aIssuer + ">;rel=\"up\"");
+    }
+    respond(aExchange, OK, "application/pkix-cert", aCertificate);
+  }
+
+  private void problem (HttpExchange aExchange, int aStatus, String aType, String aDetail) throws IOException {
+    Map<String, Object> problem = new LinkedHashMap<>();
+    problem.put("type", "urn:acme:error:" + aType);
+    problem.put("detail", aDetail);
+    problem.put("status", aStatus);
+    respond(aExchange, aStatus, "application/problem+json", JsonUtil.toJson(problem).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void respond (HttpExchange aExchange, int aStatus, String aContentType, byte[] aBody) throws IOException {
+    String nonce = token();
+    nonces.add(nonce);
+    aExchange.getResponseHeaders().set("Replay-Nonce", nonce);
+    if(aContentType != null) {
+      aExchange.getResponseHeaders().set("Content-Type", aContentType);
+    }
+    aExchange.sendResponseHeaders(aStatus, aBody != null ? aBody.length : -1);
+    if(aBody != null) {
+      try (OutputStream out = aExchange.getResponseBody()) {
+        out.write(aBody);
+      }
+    }
+  }
+
+  private static byte[] read (InputStream aIn) throws IOException {
+    try (InputStream in = aIn) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      for(int n; (n = in.read(buffer)) > 0; ) {
+        out.write(buffer, 0, n);
+      }
+      return out.toByteArray();
+    }
+  }
+
+  private static class SignedRequest {
+
+    final PublicJsonWebKey jwk;
+    final String thumbprint;
+    final Map<String, Object> payload;
+
+    SignedRequest (PublicJsonWebKey aJwk, String aThumbprint, Map<String, Object> aPayload) {
+      jwk = aJwk;
+      thumbprint = aThumbprint;
+      payload = aPayload;
+    }
+
+  }
+
+  private class Challenge {
+
+    final long id;
+    final String type;
+    final String domain;
+    final String thumbprint;
+    final String token;
+    volatile String status = "pending";
+    volatile String validated;
+    volatile String error;
+    boolean triggered;
+
+    Challenge (long aId, String aType, String aDomain, String aThumbprint, String aToken) {
+      id = aId;
+      type = aType;
+      domain = aDomain;
+      thumbprint = aThumbprint;
+      token = aToken;
+    }
+
+    void succeed () {
+      validated = Instant.now().toString();
+      status = "valid";
+    }
+
+    void fail (String aError) {
+      logger.info("Challenge {} of {} failed: {}", type, domain, aError);
+      error = aError;
+      status = "invalid";
+    }
+
+    Map<String, Object> toJson () {
+      Map<String, Object> json = new LinkedHashMap<>();
+      json.put("type", type);
+      json.put("status", status);
+      json.put("uri", url("challenge/" + id));
+      json.put("token", token);
+      if(validated != null) {
+        json.put("validated", validated);
+      }
+      if(error != null) {
+        Map<String, Object> problem = new LinkedHashMap<>();
+        problem.put("type", "urn:acme:error:unauthorized");
+        problem.put("detail", error);
+        json.put("error", problem);
+      }
+      return json;
+    }
+
+  }
+
+  private static class AcmeProblem extends RuntimeException {
+
+    final int status;
+    final String type;
+
+    AcmeProblem (int aStatus, String aType, String aDetail) {
+      super(aDetail);
+      status = aStatus;
+      type = aType;
+    }
+
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A clock which only moves when told to.
+ *
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class MutableClock extends Clock {
+
+  private volatile Instant instant;
+
+  public MutableClock (Instant aInstant) {
+    instant = aInstant;
+  }
+
+  public void advance (Duration aDuration) {
+    instant = instant.plus(aDuration);
+  }
+
+  @Override
+  public Instant instant () {
+    return instant;
+  }
+
+  @Override
+  public ZoneId getZone () {
+    return ZoneOffset.UTC;
+  }
+
+  @Override
+  public Clock withZone (ZoneId aZone) {
+    throw new UnsupportedOperationException();
+  }
+
+}
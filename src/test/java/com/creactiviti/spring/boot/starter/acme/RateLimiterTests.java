@@ -0,0 +1,141 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.contentOf;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class RateLimiterTests {
+
+  private static final List<String> WWW = Collections.singletonList("www.example.com");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T00:00:00Z"));
+
+  private final AcmeConfigProperties config = new AcmeConfigProperties();
+
+  private File file;
+
+  @Before
+  public void setup () {
+    file = new File(temp.getRoot(), "rate-limits.properties");
+    config.setRateLimitFile(file.getPath());
+  }
+
+  @Test
+  public void testAccountLimit () {
+    config.setOrdersPerAccount(3);
+    RateLimiter rateLimiter = new RateLimiter(config, clock);
+    for(String domain : Arrays.asList("a.example.com", "b.example.org", "c.example.net")) {
+      assertThat(rateLimiter.acquire(Collections.singletonList(domain))).isEqualTo(0);
+    }
+    // 3 per 3 hours, one back every hour
+    assertThat(rateLimiter.acquire(Collections.singletonList("d.example.io"))).isEqualTo(Duration.ofHours(1).toMillis());
+
+    clock.advance(Duration.ofMinutes(40));
+    // rounded up from a fraction of a token
+    assertThat(rateLimiter.waitTime(Collections.singletonList("d.example.io"))).isCloseTo(Duration.ofMinutes(20).toMillis(), within(1L));
+
+    clock.advance(Duration.ofMinutes(20));
+    assertThat(rateLimiter.acquire(Collections.singletonList("d.example.io"))).isEqualTo(0);
+    assertThat(rateLimiter.waitTime(Collections.singletonList("e.example.io"))).isGreaterThan(0);
+  }
+
+  @Test
+  public void testRegisteredDomainLimit () {
+    config.setCertificatesPerRegisteredDomain(2);
+    RateLimiter rateLimiter = new RateLimiter(config, clock);
+    assertThat(rateLimiter.acquire(Collections.singletonList("a.example.com"))).isEqualTo(0);
+    // a SAN certificate counts once against its registered domain
+    assertThat(rateLimiter.acquire(Arrays.asList("b.example.com", "c.EXAMPLE.com"))).isEqualTo(0);
+
+    // 2 per week, one back every 3.5 days
+    assertThat(rateLimiter.acquire(Collections.singletonList("d.example.com"))).isEqualTo(Duration.ofHours(84).toMillis());
+    assertThat(rateLimiter.acquire(Arrays.asList("d.example.org", "d.example.com"))).isEqualTo(Duration.ofHours(84).toMillis());
+    assertThat(rateLimiter.acquire(Collections.singletonList("d.example.org"))).isEqualTo(0);
+
+    clock.advance(Duration.ofHours(84));
+    assertThat(rateLimiter.acquire(Collections.singletonList("d.example.com"))).isEqualTo(0);
+  }
+
+  @Test
+  public void testFailedValidationLimit () {
+    config.setFailedValidationsPerHostname(2);
+    RateLimiter rateLimiter = new RateLimiter(config, clock);
+    rateLimiter.recordFailedValidation("www.example.com");
+    assertThat(rateLimiter.waitTime(WWW)).isEqualTo(0);
+    rateLimiter.recordFailedValidation("WWW.example.com");
+
+    // 2 per hour, one back every 30 minutes
+    assertThat(rateLimiter.waitTime(WWW)).isEqualTo(Duration.ofMinutes(30).toMillis());
+    assertThat(rateLimiter.acquire(Arrays.asList("api.example.com", "www.example.com"))).isEqualTo(Duration.ofMinutes(30).toMillis());
+    // the other host names of the registered domain aren't affected
+    assertThat(rateLimiter.acquire(Collections.singletonList("api.example.com"))).isEqualTo(0);
+
+    clock.advance(Duration.ofMinutes(30));
+    assertThat(rateLimiter.waitTime(WWW)).isEqualTo(0);
+  }
+
+  @Test
+  public void testDisabled () {
+    config.setRateLimitsEnabled(false);
+    config.setOrdersPerAccount(1);
+    RateLimiter rateLimiter = new RateLimiter(config, clock);
+    for(int i=0; i < 3; i++) {
+      rateLimiter.recordFailedValidation("www.example.com");
+      assertThat(rateLimiter.acquire(WWW)).isEqualTo(0);
+    }
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  public void testPersistedAcrossRestarts () {
+    config.setOrdersPerAccount(2);
+    config.setFailedValidationsPerHostname(1);
+    RateLimiter rateLimiter = new RateLimiter(config, clock);
+    rateLimiter.acquire(Collections.singletonList("a.example.com"));
+    rateLimiter.acquire(Collections.singletonList("b.example.org"));
+    rateLimiter.recordFailedValidation("c.example.net");
+    assertThat(file).exists();
+
+    clock.advance(Duration.ofMinutes(30));
+    RateLimiter restarted = new RateLimiter(config, clock);
+    // 2 per 3 hours, the first one back 90 minutes after they were taken
+    assertThat(restarted.waitTime(Collections.singletonList("d.example.io"))).isCloseTo(Duration.ofMinutes(60).toMillis(), within(1L));
+
+    clock.advance(Duration.ofMinutes(60));
+    assertThat(restarted.waitTime(Collections.singletonList("d.example.io"))).isEqualTo(0);
+    // one per hour, which passed as well
+    assertThat(restarted.waitTime(Collections.singletonList("c.example.net"))).isEqualTo(0);
+  }
+
+  @Test
+  public void testFullBucketsAreNotPersisted () {
+    config.setFailedValidationsPerHostname(1);
+    RateLimiter rateLimiter = new RateLimiter(config, clock);
+    rateLimiter.recordFailedValidation("www.example.com");
+    assertThat(contentOf(file)).contains("validation.www.example.com.tokens");
+
+    clock.advance(Duration.ofHours(1));
+    rateLimiter.recordFailedValidation("api.example.com");
+    assertThat(contentOf(file)).contains("validation.api.example.com.tokens").doesNotContain("validation.www.example.com");
+  }
+
+}
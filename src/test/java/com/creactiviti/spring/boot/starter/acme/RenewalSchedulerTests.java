@@ -0,0 +1,70 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class RenewalSchedulerTests {
+
+  private final IssuanceQueue queue = mock(IssuanceQueue.class);
+  
+  private final AcmeConfigProperties config = new AcmeConfigProperties();
+  
+  private final RenewalScheduler scheduler = new RenewalScheduler(queue, config, new CertificateInventory(config));
+  
+  @After
+  public void teardown () {
+    scheduler.destroy();
+  }
+  
+  @Test
+  public void testRetryFailedIssuance () throws Exception {
+    config.setRenewalRetryInitialDelay(10);
+    List<String> domains = Collections.singletonList("example.com");
+    when(queue.submit(domains, null)).thenReturn(new CompletableFuture<>());
+    
+    CompletableFuture<Void> recovery = scheduler.retry(domains, null, new IllegalStateException("the CA is down"));
+    
+    verify(queue, timeout(5000)).submit(domains, null);
+    assertThat(recovery.isDone()).isFalse();
+    
+    scheduler.onCertificateIssued(issued(domains));
+    assertThat(recovery.isDone()).isTrue();
+  }
+  
+  private CertificateIssuedEvent issued (List<String> aDomains) throws Exception {
+    KeyPair keyPair = KeyPairGenerator.getInstance("EC").generateKeyPair();
+    X500Name name = new X500Name("CN=" + aDomains.get(0));
+    Date notAfter = Date.from(Instant.now().plus(90, ChronoUnit.DAYS));
+    X509CertificateHolder holder = new JcaX509v3CertificateBuilder(name, BigInteger.ONE, new Date(), notAfter, name, keyPair.getPublic())
+      .build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate()));
+    X509Certificate certificate = new JcaX509CertificateConverter().getCertificate(holder);
+    return new CertificateIssuedEvent(this, aDomains, keyPair, new X509Certificate[] {certificate}, null, null);
+  }
+  
+}
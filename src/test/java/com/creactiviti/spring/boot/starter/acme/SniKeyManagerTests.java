@@ -0,0 +1,187 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class SniKeyManagerTests {
+
+  private static final AtomicLong SERIALS = new AtomicLong();
+
+  private static final X509TrustManager TRUST_ALL = new X509TrustManager() {
+    @Override
+    public void checkClientTrusted (X509Certificate[] aChain, String aAuthType) {
+    }
+    @Override
+    public void checkServerTrusted (X509Certificate[] aChain, String aAuthType) {
+    }
+    @Override
+    public X509Certificate[] getAcceptedIssuers () {
+      return new X509Certificate[0];
+    }
+  };
+
+  private SniKeyManager keyManager;
+
+  private X509Certificate[] www;
+
+  private X509Certificate[] wildcard;
+
+  @Before
+  public void setup () throws Exception {
+    keyManager = new SniKeyManager("www.example.com");
+    KeyPair wwwKeyPair = keyPair();
+    www = chain(wwwKeyPair, "www.example.com", "example.com");
+    keyManager.add(wwwKeyPair.getPrivate(), www);
+    KeyPair wildcardKeyPair = keyPair();
+    wildcard = chain(wildcardKeyPair, "*.api.example.com");
+    keyManager.add(wildcardKeyPair.getPrivate(), wildcard);
+  }
+
+  @Test
+  public void testExactHost () throws Exception {
+    assertThat(served("www.example.com")).isEqualTo(www[0]);
+    assertThat(served("EXAMPLE.com")).isEqualTo(www[0]);
+    assertThat(keyManager.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void testWildcardHost () throws Exception {
+    assertThat(served("v1.api.example.com")).isEqualTo(wildcard[0]);
+    // a wildcard only covers a single label
+    assertThat(served("a.v1.api.example.com")).isEqualTo(www[0]);
+    assertThat(served("api.example.com")).isEqualTo(www[0]);
+  }
+
+  @Test
+  public void testUnknownHost () throws Exception {
+    assertThat(served("www.example.org")).isEqualTo(www[0]);
+  }
+
+  @Test
+  public void testNoSni () throws Exception {
+    assertThat(served(null)).isEqualTo(www[0]);
+    assertThat(keyManager.getCertificateChain(keyManager.chooseServerAlias("EC", null, null))).isEqualTo(www);
+  }
+
+  @Test
+  public void testKeyType () {
+    assertThat(keyManager.chooseServerAlias("RSA", null, null)).isNull();
+    assertThat(keyManager.chooseServerAlias("EC_RSA", null, null)).isNotNull();
+    assertThat(keyManager.getServerAliases("EC", null)).hasSize(2);
+    assertThat(keyManager.getServerAliases("RSA", null)).isEmpty();
+  }
+
+  @Test
+  public void testUnknownAlias () {
+    assertThat(keyManager.getCertificateChain("unknown")).isNull();
+    assertThat(keyManager.getPrivateKey("unknown")).isNull();
+  }
+
+  @Test
+  public void testReplacedOnCertificateIssued () throws Exception {
+    AcmeConfigProperties config = new AcmeConfigProperties();
+    config.setDomainNames(Arrays.asList("www.example.com"));
+    SniConfigurer configurer = new SniConfigurer(config);
+    keyManager = configurer.getKeyManager();
+    KeyPair keyPair = keyPair();
+    configurer.onCertificateIssued(new CertificateIssuedEvent(this, Arrays.asList("www.example.com"), keyPair, chain(keyPair, "www.example.com", "example.com"), null, null));
+    String previous = keyManager.chooseServerAlias("EC", null, null);
+
+    KeyPair renewedKeyPair = keyPair();
+    X509Certificate[] renewed = chain(renewedKeyPair, "www.example.com", "example.com");
+    configurer.onCertificateIssued(new CertificateIssuedEvent(this, Arrays.asList("www.example.com"), renewedKeyPair, renewed, null, null));
+
+    assertThat(served("www.example.com")).isEqualTo(renewed[0]);
+    assertThat(served("example.com")).isEqualTo(renewed[0]);
+    String alias = keyManager.chooseServerAlias("EC", null, null);
+    assertThat(alias).isNotEqualTo(previous);
+    assertThat(keyManager.getCertificateChain(alias)).isEqualTo(renewed);
+    assertThat(keyManager.getPrivateKey(alias)).isEqualTo(renewedKeyPair.getPrivate());
+    // the previous certificate serves no host anymore
+    assertThat(keyManager.getCertificateChain(previous)).isNull();
+    assertThat(keyManager.getServerAliases("EC", null)).containsExactly(alias);
+  }
+
+  /**
+   * Makes a TLS handshake with a server on the key manager.
+   *
+   * @param aHost the host name to ask for, <code>null</code> for no SNI
+   * @return the certificate the server answered with
+   */
+  private X509Certificate served (String aHost) throws Exception {
+    SSLContext server = SSLContext.getInstance("TLS");
+    server.init(new KeyManager[] {keyManager}, null, null);
+    try (ServerSocket serverSocket = server.getServerSocketFactory().createServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      CompletableFuture.runAsync(() -> {
+        try (SSLSocket socket = (SSLSocket) serverSocket.accept()) {
+          socket.startHandshake();
+        }
+        catch (IOException ex) {
+          // the client hung up
+        }
+      });
+      SSLContext client = SSLContext.getInstance("TLS");
+      client.init(null, new TrustManager[] {TRUST_ALL}, null);
+      // connected by address, so no SNI is sent unless asked for
+      try (SSLSocket socket = (SSLSocket) client.getSocketFactory().createSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort())) {
+        SSLParameters parameters = socket.getSSLParameters();
+        parameters.setServerNames(aHost != null ? Collections.singletonList(new SNIHostName(aHost)) : Collections.emptyList());
+        socket.setSSLParameters(parameters);
+        socket.startHandshake();
+        return (X509Certificate) socket.getSession().getPeerCertificates()[0];
+      }
+    }
+  }
+
+  private static KeyPair keyPair () throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(256);
+    return generator.generateKeyPair();
+  }
+
+  private static X509Certificate[] chain (KeyPair aKeyPair, String... aDomains) throws Exception {
+    X500Name name = new X500Name("CN=" + aDomains[0]);
+    Instant now = Instant.now();
+    JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name, BigInteger.valueOf(SERIALS.incrementAndGet()), Date.from(now), Date.from(now.plus(1, ChronoUnit.DAYS)), name, aKeyPair.getPublic());
+    GeneralName[] sans = Arrays.stream(aDomains).map((domain) -> new GeneralName(GeneralName.dNSName, domain)).toArray(GeneralName[]::new);
+    builder.addExtension(Extension.subjectAlternativeName, false, new GeneralNames(sans));
+    return new X509Certificate[] {new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(aKeyPair.getPrivate())))};
+  }
+
+}
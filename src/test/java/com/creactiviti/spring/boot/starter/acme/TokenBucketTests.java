@@ -0,0 +1,61 @@
+package com.creactiviti.spring.boot.starter.acme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author Arik Cohen
+ * @since Oct 18, 2026
+ */
+public class TokenBucketTests {
+
+  private static final long PERIOD = 1000;
+
+  @Test
+  public void testBurst () {
+    TokenBucket bucket = new TokenBucket(4, PERIOD, 4, 0);
+    for(int i=0; i < 4; i++) {
+      assertThat(bucket.waitTime(1, 0)).isEqualTo(0);
+      bucket.take(1, 0);
+    }
+    assertThat(bucket.waitTime(1, 0)).isEqualTo(PERIOD / 4);
+    assertThat(bucket.isFull(0)).isFalse();
+  }
+
+  @Test
+  public void testRefill () {
+    TokenBucket bucket = new TokenBucket(4, PERIOD, 0, 0);
+    assertThat(bucket.waitTime(1, 0)).isEqualTo(250);
+    assertThat(bucket.waitTime(1, 100)).isEqualTo(150);
+    assertThat(bucket.waitTime(1, 250)).isEqualTo(0);
+    assertThat(bucket.waitTime(3, 250)).isEqualTo(500);
+    assertThat(bucket.isFull(999)).isFalse();
+    assertThat(bucket.isFull(PERIOD)).isTrue();
+    // never beyond the capacity
+    assertThat(bucket.waitTime(1, 10 * PERIOD)).isEqualTo(0);
+    assertThat(bucket.getTokens()).isEqualTo(4);
+  }
+
+  @Test
+  public void testDebt () {
+    TokenBucket bucket = new TokenBucket(4, PERIOD, 1, 0);
+    bucket.take(2, 0);
+    assertThat(bucket.getTokens()).isEqualTo(-1);
+    assertThat(bucket.waitTime(1, 0)).isEqualTo(500);
+  }
+
+  @Test
+  public void testClockGoingBack () {
+    TokenBucket bucket = new TokenBucket(4, PERIOD, 0, 500);
+    assertThat(bucket.waitTime(1, 0)).isEqualTo(250);
+    assertThat(bucket.getUpdated()).isEqualTo(500);
+  }
+
+  @Test
+  public void testRestoredAboveCapacity () {
+    TokenBucket bucket = new TokenBucket(4, PERIOD, 10, 0);
+    assertThat(bucket.getTokens()).isEqualTo(4);
+  }
+
+}